@@ -55,10 +55,11 @@ export function App() {
         }
 
         const data = await response.json();
-        setRestaurants(data);
+        const page = data.content ?? data;
+        setRestaurants(page);
 
-        if (data.length > 0) {
-          setRestaurantId(String(data[0].id));
+        if (page.length > 0) {
+          setRestaurantId(String(page[0].id));
         }
       } catch (err) {
         setError(err.message);
@@ -0,0 +1,72 @@
+package com.safemenu.api.benchmark;
+
+import com.safemenu.api.entity.Dish;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.service.DishService;
+import com.safemenu.api.service.MenuCacheKey;
+import com.safemenu.api.service.MenuCursor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allergen derivation and the safe-dish cache key — both run on every dish read
+ * or safe-dish request. Cycles through {@value #DISHES} dishes so one result can't be memoised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllergenBenchmark {
+
+    private static final int DISHES = 64;
+
+    @Param({"4", "12", "40"})
+    int ingredientCount;
+
+    @Param({"0.1", "0.5", "1.0"})
+    double allergenDensity;
+
+    private Dish[] dishes;
+    private List<Set<AllergenType>> exclusions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dishes = MenuFixtures.dishes(DISHES, ingredientCount, allergenDensity, 42L).toArray(new Dish[0]);
+        Random random = new Random(7L);
+        exclusions = new ArrayList<>(DISHES);
+        for (int i = 0; i < DISHES; i++) {
+            exclusions.add(MenuFixtures.randomAllergens(1 + random.nextInt(4), random));
+        }
+    }
+
+    @Benchmark
+    public Set<AllergenType> computedAllergens() {
+        return dishes[nextIndex()].getComputedAllergens();
+    }
+
+    @Benchmark
+    public int recomputeAllergenMask() {
+        Dish dish = dishes[nextIndex()];
+        dish.recomputeAllergenMask();
+        return dish.getAllergenMask();
+    }
+
+    @Benchmark
+    public MenuCacheKey safeDishCacheKey() {
+        int i = nextIndex();
+        return DishService.buildSafeDishCacheKey((long) i, 1L, exclusions.get(i), MenuCursor.START, MenuCursor.DEFAULT_PAGE_SIZE, false);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (DISHES - 1);
+        return next;
+    }
+}
@@ -0,0 +1,94 @@
+package com.safemenu.api.benchmark;
+
+import com.safemenu.api.dto.projection.DishIngredientRow;
+import com.safemenu.api.dto.projection.DishRow;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.entity.Dish;
+import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.mapper.IngredientResponseRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link EntityMapper#toDishResponse} for both the entity path (writes, single-dish reads)
+ * and the projection path used by the menu read model — including the allergen warning —
+ * plus the read model's per-dish ingredient mapping, which hits the shared responses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DishMappingBenchmark {
+
+    private static final int DISHES = 64;
+
+    @Param({"4", "12", "40"})
+    int ingredientCount;
+
+    @Param({"0.1", "0.5", "1.0"})
+    double allergenDensity;
+
+    private final EntityMapper mapper = new EntityMapper(new IngredientResponseRegistry());
+    private Dish[] dishes;
+    private DishRow[] rows;
+    private List<Set<IngredientResponse>> rowIngredients;
+    private DishIngredientRow[][] ingredientRows;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dishes = MenuFixtures.dishes(DISHES, ingredientCount, allergenDensity, 42L).toArray(new Dish[0]);
+        rows = new DishRow[DISHES];
+        for (int i = 0; i < DISHES; i++) {
+            Dish dish = dishes[i];
+            rows[i] = new DishRow(dish.getId(), dish.getName(), dish.getDescription(), dish.getPrice(),
+                    dish.isAvailable(), dish.isVegetarian(), dish.isVegan(), dish.getCategory().getId(),
+                    dish.getCategory().getName(), dish.getCategory().getDisplayOrder(), dish.getAllergenMask());
+        }
+        rowIngredients = List.of(dishes).stream()
+                .map(dish -> dish.getIngredients().stream()
+                        .map(mapper::toIngredientResponse)
+                        .collect(Collectors.toSet()))
+                .toList();
+        ingredientRows = List.of(dishes).stream()
+                .map(dish -> dish.getIngredients().stream()
+                        .map(ingredient -> new DishIngredientRow(dish.getId(), ingredient.getId(), ingredient.getName(),
+                                ingredient.getDescription(), ingredient.getAllergenMask(), ingredient.getUpdatedAt()))
+                        .toArray(DishIngredientRow[]::new))
+                .toArray(DishIngredientRow[][]::new);
+    }
+
+    @Benchmark
+    public DishResponse fromEntity() {
+        return mapper.toDishResponse(dishes[nextIndex()]);
+    }
+
+    @Benchmark
+    public DishResponse fromRow() {
+        int i = nextIndex();
+        return mapper.toDishResponse(rows[i], rowIngredients.get(i));
+    }
+
+    @Benchmark
+    public Set<IngredientResponse> ingredientsFromRows() {
+        DishIngredientRow[] rows = ingredientRows[nextIndex()];
+        Set<IngredientResponse> ingredients = new HashSet<>();
+        for (DishIngredientRow row : rows) {
+            ingredients.add(mapper.toIngredientResponse(row));
+        }
+        return ingredients;
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (DISHES - 1);
+        return next;
+    }
+}
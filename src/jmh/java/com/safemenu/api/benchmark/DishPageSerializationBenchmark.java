@@ -0,0 +1,56 @@
+package com.safemenu.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.dto.response.CursorPage;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.mapper.IngredientResponseRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@link CursorPage} of dishes, as written for every
+ * uncached menu or safe-dish response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DishPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    @Param({"4", "12", "40"})
+    int ingredientCount;
+
+    @Param({"0.5"})
+    double allergenDensity;
+
+    private ObjectMapper objectMapper;
+    private CursorPage<DishResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        EntityMapper mapper = new EntityMapper(new IngredientResponseRegistry());
+        page = CursorPage.<DishResponse>builder()
+                .content(MenuFixtures.dishes(pageSize, ingredientCount, allergenDensity, 42L).stream()
+                        .map(mapper::toDishResponse)
+                        .toList())
+                .size(pageSize)
+                .hasNext(true)
+                .nextCursor("bTE6MTo0Mg")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,75 @@
+package com.safemenu.api.benchmark;
+
+import com.safemenu.api.entity.Dish;
+import com.safemenu.api.entity.Ingredient;
+import com.safemenu.api.entity.MenuCategory;
+import com.safemenu.api.enums.AllergenType;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic in-memory dishes for the benchmarks — no persistence context involved.
+ *
+ * {@code allergenDensity} is the probability that an ingredient carries allergens at all;
+ * a tagged ingredient gets one to three random EU-14 allergens.
+ */
+final class MenuFixtures {
+
+    private static final AllergenType[] ALLERGENS = AllergenType.values();
+
+    private MenuFixtures() {
+    }
+
+    static List<Dish> dishes(int count, int ingredientCount, double allergenDensity, long seed) {
+        Random random = new Random(seed);
+        MenuCategory category = MenuCategory.builder()
+                .id(1L)
+                .name("Mains")
+                .displayOrder(1)
+                .build();
+        return IntStream.range(0, count)
+                .mapToObj(i -> dish(i + 1L, category, ingredientCount, allergenDensity, random))
+                .toList();
+    }
+
+    static Set<AllergenType> randomAllergens(int count, Random random) {
+        Set<AllergenType> allergens = EnumSet.noneOf(AllergenType.class);
+        while (allergens.size() < Math.min(count, ALLERGENS.length)) {
+            allergens.add(ALLERGENS[random.nextInt(ALLERGENS.length)]);
+        }
+        return allergens;
+    }
+
+    private static Dish dish(long id, MenuCategory category, int ingredientCount, double allergenDensity,
+                             Random random) {
+        Set<Ingredient> ingredients = new HashSet<>();
+        for (int i = 0; i < ingredientCount; i++) {
+            Ingredient ingredient = Ingredient.builder()
+                    .id(id * 1_000 + i)
+                    .name("Ingredient " + id + "-" + i)
+                    .description("Benchmark ingredient " + i)
+                    .build();
+            ingredient.setAllergens(random.nextDouble() < allergenDensity
+                    ? randomAllergens(1 + random.nextInt(3), random)
+                    : EnumSet.noneOf(AllergenType.class));
+            ingredients.add(ingredient);
+        }
+        Dish dish = Dish.builder()
+                .id(id)
+                .name("Dish " + id)
+                .description("A benchmark dish with " + ingredientCount + " ingredients")
+                .price(new BigDecimal("12.50"))
+                .vegetarian(id % 3 == 0)
+                .category(category)
+                .ingredients(ingredients)
+                .build();
+        dish.recomputeAllergenMask();
+        return dish;
+    }
+}
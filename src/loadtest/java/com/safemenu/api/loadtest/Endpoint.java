@@ -0,0 +1,37 @@
+package com.safemenu.api.loadtest;
+
+import java.util.Locale;
+
+/** The operations in the traffic mix; each gets its own latency histogram. */
+enum Endpoint {
+
+    MENU("GET /dishes/restaurant/{id}"),
+    SAFE("GET /dishes/safe"),
+    SEARCH("GET /ingredients/search"),
+    /** Uncached single-dish read — always reaches the database; not in the default mix. */
+    DISH("GET /dishes/{id}"),
+    TOGGLE("PATCH /dishes/{id}/toggle-availability"),
+    UPDATE("PUT /dishes/{id}");
+
+    private final String description;
+
+    Endpoint(String description) {
+        this.description = description;
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    String description() {
+        return description;
+    }
+
+    static Endpoint fromKey(String key) {
+        try {
+            return valueOf(key.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown load-test endpoint '" + key + "'", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.safemenu.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a weighted mix of menu reads, safe-dish filters (Zipf-distributed exclusion sets),
+ * ingredient typeahead and a trickle of dish writes against a running SafeMenu API, then
+ * reports throughput and latency percentiles per endpoint.
+ *
+ * Each client is a thread with its own seeded random generator and histograms, so a run is
+ * reproducible for a given seed and server state. With {@code -Dloadtest.rate} set, clients
+ * follow a fixed schedule and latency is measured from each request's intended start time,
+ * so a stalled server is not hidden by clients backing off (coordinated omission).
+ *
+ * Run against {@code ./mvnw spring-boot:run} (dev profile, H2) or the docker profile:
+ * {@code ./mvnw -Ploadtest test-compile exec:java@loadtest -Dloadtest.clients=32 -Dloadtest.duration=PT2M}
+ */
+public final class LoadTest {
+
+    /** Histograms track up to a minute, in microseconds, to three significant digits. */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Workload workload = Workload.discover(config, client, objectMapper);
+        System.out.printf("Load test against %s: restaurant %d (%d dishes), %d typeahead terms%n",
+                config.baseUrl(), config.restaurantId(), workload.dishCount(), workload.searchTermCount());
+        System.out.printf("%d clients, %s warm-up, %s measured, %s, mix %s, seed %d%n",
+                config.clients(), config.warmup(), config.duration(),
+                config.rate() > 0 ? config.rate() + " req/s" : "closed loop", config.mix(), config.seed());
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long measureUntil = measureFrom + config.duration().toNanos();
+        long intervalNanos = config.rate() > 0 ? TimeUnit.SECONDS.toNanos(config.clients()) / config.rate() : 0;
+
+        List<Client> clients = new ArrayList<>(config.clients());
+        try (ExecutorService executor = Executors.newFixedThreadPool(config.clients())) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < config.clients(); i++) {
+                Client c = new Client(client, workload, new SplittableRandom(config.seed() + i),
+                        start + i * intervalNanos / config.clients(), intervalNanos, measureFrom, measureUntil);
+                clients.add(c);
+                running.add(executor.submit(c));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        }
+
+        Map<Endpoint, EndpointStats> results = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : config.mix().keySet()) {
+            EndpointStats merged = new EndpointStats();
+            clients.forEach(c -> merged.add(c.stats.get(endpoint)));
+            results.put(endpoint, merged);
+        }
+        new LoadTestReport(config, results).write(objectMapper);
+    }
+
+    /** Latency histogram and error count for one endpoint. */
+    static final class EndpointStats {
+
+        final Histogram latencyMicros = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long errors;
+
+        void add(EndpointStats other) {
+            latencyMicros.add(other.latencyMicros);
+            errors += other.errors;
+        }
+    }
+
+    private static final class Client implements Runnable {
+
+        private final HttpClient http;
+        private final Workload workload;
+        private final SplittableRandom random;
+        private final long intervalNanos;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        private long nextStart;
+
+        Client(HttpClient http, Workload workload, SplittableRandom random, long firstStart,
+               long intervalNanos, long measureFrom, long measureUntil) {
+            this.http = http;
+            this.workload = workload;
+            this.random = random;
+            this.nextStart = firstStart;
+            this.intervalNanos = intervalNanos;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats());
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long intendedStart = intervalNanos > 0 ? nextStart : System.nanoTime();
+                if (intendedStart >= measureUntil) {
+                    return;
+                }
+                if (intervalNanos > 0) {
+                    nextStart += intervalNanos;
+                    for (long wait = intendedStart - System.nanoTime(); wait > 0; wait = intendedStart - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+
+                Endpoint endpoint = workload.nextEndpoint(random);
+                HttpRequest request = workload.request(endpoint, random);
+                boolean failed;
+                try {
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    failed = status >= 400;
+                } catch (IOException e) {
+                    failed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+
+                if (intendedStart >= measureFrom) {
+                    EndpointStats endpointStats = stats.get(endpoint);
+                    endpointStats.latencyMicros.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                    if (failed) {
+                        endpointStats.errors++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.safemenu.api.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param rate total target requests per second across all clients; {@code 0} runs closed-loop
+ *             (each client fires its next request as soon as the previous one returns)
+ * @param mix  relative weight of each endpoint, e.g. {@code menu=40,safe=40,search=16,toggle=2,update=2}
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        long restaurantId,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        int rate,
+        Map<Endpoint, Integer> mix,
+        double zipfExponent,
+        long seed,
+        Path outputDir
+) {
+
+    static final String DEFAULT_MIX = "menu=40,safe=40,search=16,toggle=2,update=2";
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(property("baseUrl", "http://localhost:8080")),
+                Long.parseLong(property("restaurantId", "1")),
+                Integer.parseInt(property("clients", "16")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT60S")),
+                Integer.parseInt(property("rate", "0")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Double.parseDouble(property("zipf", "1.1")),
+                Long.parseLong(property("seed", "42")),
+                Path.of(property("output", "target/loadtest")));
+        if (config.clients() < 1) {
+            throw new IllegalArgumentException("loadtest.clients must be at least 1");
+        }
+        if (config.rate() < 0) {
+            throw new IllegalArgumentException("loadtest.rate must not be negative");
+        }
+        return config;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split("=", 2);
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry '" + part + "'");
+            }
+            int value = Integer.parseInt(weight[1].trim());
+            if (value > 0) {
+                mix.put(Endpoint.fromKey(weight[0].trim()), value);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one endpoint a positive weight");
+        }
+        return mix;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,102 @@
+package com.safemenu.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the run's results: a console table, one HdrHistogram percentile distribution
+ * ({@code <endpoint>.hgrm}, milliseconds) per endpoint and {@code summary.json} for
+ * comparing runs. All go to {@link LoadTestConfig#outputDir()}.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String ROW = "%-40s %9s %7s %9s %9s %9s %9s %9s %9s%n";
+
+    private final LoadTestConfig config;
+    private final Map<Endpoint, LoadTest.EndpointStats> results;
+
+    LoadTestReport(LoadTestConfig config, Map<Endpoint, LoadTest.EndpointStats> results) {
+        this.config = config;
+        this.results = results;
+    }
+
+    void write(ObjectMapper objectMapper) throws IOException {
+        Path dir = config.outputDir();
+        Files.createDirectories(dir);
+        double seconds = config.duration().toNanos() / 1e9;
+
+        LoadTest.EndpointStats total = new LoadTest.EndpointStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.println();
+        System.out.printf(ROW, "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, LoadTest.EndpointStats> entry : results.entrySet()) {
+            Endpoint endpoint = entry.getKey();
+            LoadTest.EndpointStats stats = entry.getValue();
+            total.add(stats);
+            printRow(endpoint.description(), stats, seconds);
+            endpoints.put(endpoint.key(), summary(endpoint.description(), stats, seconds));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(endpoint.key() + ".hgrm")))) {
+                stats.latencyMicros.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        printRow("total", total, seconds);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("config", Map.of(
+                "baseUrl", config.baseUrl().toString(),
+                "restaurantId", config.restaurantId(),
+                "clients", config.clients(),
+                "warmup", config.warmup().toString(),
+                "duration", config.duration().toString(),
+                "rate", config.rate(),
+                "mix", config.mix(),
+                "zipfExponent", config.zipfExponent(),
+                "seed", config.seed()));
+        summary.put("endpoints", endpoints);
+        summary.put("total", summary("all endpoints", total, seconds));
+        Path json = dir.resolve("summary.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), summary);
+        System.out.printf("%nHistograms and %s written to %s%n", json.getFileName(), dir.toAbsolutePath());
+    }
+
+    private static void printRow(String label, LoadTest.EndpointStats stats, double seconds) {
+        Histogram h = stats.latencyMicros;
+        System.out.printf(ROW, label, h.getTotalCount(), stats.errors,
+                String.format("%.1f", h.getTotalCount() / seconds),
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+
+    private static Map<String, Object> summary(String description, LoadTest.EndpointStats stats, double seconds) {
+        Histogram h = stats.latencyMicros;
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", h.getMean() / MICROS_PER_MILLI);
+        latency.put("p50", h.getValueAtPercentile(50) / MICROS_PER_MILLI);
+        latency.put("p95", h.getValueAtPercentile(95) / MICROS_PER_MILLI);
+        latency.put("p99", h.getValueAtPercentile(99) / MICROS_PER_MILLI);
+        latency.put("p999", h.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+        latency.put("max", h.getMaxValue() / MICROS_PER_MILLI);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", description);
+        summary.put("requests", h.getTotalCount());
+        summary.put("errors", stats.errors);
+        summary.put("throughputPerSecond", h.getTotalCount() / seconds);
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / MICROS_PER_MILLI);
+    }
+}
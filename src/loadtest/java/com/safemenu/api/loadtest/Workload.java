@@ -0,0 +1,198 @@
+package com.safemenu.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.safemenu.api.enums.AllergenType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * The request mix, built from what the target server actually holds: the restaurant's dishes
+ * and menu cursors, and the ingredient catalog for typeahead terms. Immutable once discovered,
+ * so client threads share it and bring their own random generators.
+ */
+final class Workload {
+
+    private static final int MENU_PAGE_SIZE = 20;
+    private static final int EXCLUSION_SETS = 256;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final List<String> menuCursors;
+    private final List<JsonNode> dishes;
+    private final List<String> exclusionSets;
+    private final ZipfSampler exclusionRanks;
+    private final List<String> searchTerms;
+
+    private Workload(LoadTestConfig config, ObjectMapper objectMapper, List<String> menuCursors,
+                     List<JsonNode> dishes, List<String> searchTerms) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.menuCursors = menuCursors;
+        this.dishes = dishes;
+        this.searchTerms = searchTerms;
+        this.exclusionSets = exclusionSets(new Random(config.seed()));
+        this.exclusionRanks = new ZipfSampler(exclusionSets.size(), config.zipfExponent());
+
+        Map<Endpoint, Integer> mix = config.mix();
+        endpoints = mix.keySet().toArray(new Endpoint[0]);
+        cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static Workload discover(LoadTestConfig config, HttpClient client, ObjectMapper objectMapper)
+            throws IOException, InterruptedException {
+        List<String> cursors = new ArrayList<>();
+        List<JsonNode> dishes = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = getJson(client, objectMapper, config.baseUrl().resolve(
+                    "/api/v1/dishes/restaurant/" + config.restaurantId() + "?size=" + MENU_PAGE_SIZE
+                            + (cursor == null ? "" : "&cursor=" + cursor)));
+            page.get("content").forEach(dishes::add);
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            if (cursor != null) {
+                cursors.add(cursor);
+            }
+        } while (cursor != null);
+        if (dishes.isEmpty()) {
+            throw new IllegalStateException("Restaurant " + config.restaurantId() + " has no dishes to load-test");
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (JsonNode ingredient : getJson(client, objectMapper, config.baseUrl().resolve("/api/v1/ingredients"))) {
+            String name = ingredient.get("name").asText().toLowerCase(Locale.ROOT);
+            for (int length = 2; length <= Math.min(6, name.length()); length++) {
+                terms.add(name.substring(0, length));
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalStateException("No ingredients to build typeahead queries from");
+        }
+        return new Workload(config, objectMapper, cursors, dishes, List.copyOf(terms));
+    }
+
+    int dishCount() {
+        return dishes.size();
+    }
+
+    int searchTermCount() {
+        return searchTerms.size();
+    }
+
+    Endpoint nextEndpoint(RandomGenerator random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    HttpRequest request(Endpoint endpoint, RandomGenerator random) {
+        return switch (endpoint) {
+            case MENU -> {
+                int page = random.nextInt(menuCursors.size() + 1);
+                yield get("/api/v1/dishes/restaurant/" + config.restaurantId() + "?size=" + MENU_PAGE_SIZE
+                        + (page == 0 ? "" : "&cursor=" + menuCursors.get(page - 1)));
+            }
+            case SAFE -> get("/api/v1/dishes/safe?restaurantId=" + config.restaurantId()
+                    + "&exclude=" + exclusionSets.get(exclusionRanks.next(random)));
+            case SEARCH -> get("/api/v1/ingredients/search?query="
+                    + URLEncoder.encode(searchTerms.get(random.nextInt(searchTerms.size())), StandardCharsets.UTF_8));
+            case DISH -> get("/api/v1/dishes/" + randomDish(random).get("id").asLong());
+            case TOGGLE -> builder("/api/v1/dishes/" + randomDish(random).get("id").asLong() + "/toggle-availability")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case UPDATE -> update(randomDish(random), random);
+        };
+    }
+
+    /** Re-submits a dish with a nudged price, keeping its ingredients and category. */
+    private HttpRequest update(JsonNode dish, RandomGenerator random) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("name", dish.get("name").asText())
+                .put("description", dish.path("description").asText(null))
+                .put("price", new BigDecimal(dish.get("price").asText())
+                        .add(BigDecimal.valueOf(random.nextInt(3), 1)))
+                .put("vegetarian", dish.get("vegetarian").asBoolean())
+                .put("vegan", dish.get("vegan").asBoolean())
+                .put("categoryId", dish.get("categoryId").asLong());
+        dish.get("ingredients").forEach(ingredient -> body.withArray("ingredientIds").add(ingredient.get("id").asLong()));
+        try {
+            return builder("/api/v1/dishes/" + dish.get("id").asLong())
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode randomDish(RandomGenerator random) {
+        return dishes.get(random.nextInt(dishes.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(config.baseUrl().resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Distinct exclusion sets of one to three allergens, in a seeded order that the Zipf
+     * sampler treats as popularity rank: a few profiles dominate, with a long tail.
+     */
+    private static List<String> exclusionSets(Random random) {
+        AllergenType[] allergens = AllergenType.values();
+        Set<String> sets = new LinkedHashSet<>();
+        while (sets.size() < EXCLUSION_SETS) {
+            Set<AllergenType> set = EnumSet.noneOf(AllergenType.class);
+            int size = 1 + random.nextInt(3);
+            while (set.size() < size) {
+                set.add(allergens[random.nextInt(allergens.length)]);
+            }
+            sets.add(set.stream().map(Enum::name).collect(Collectors.joining(",")));
+        }
+        return List.copyOf(sets);
+    }
+
+    private static JsonNode getJson(HttpClient client, ObjectMapper objectMapper, URI uri)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,43 @@
+package com.safemenu.api.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.safemenu.api.dto.response.CacheStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads hit/miss/eviction statistics from the Caffeine-backed caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheStatsReporter {
+
+    private final CacheManager cacheManager;
+
+    public List<CacheStatsResponse> report() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private CacheStatsResponse toResponse(Cache cache) {
+        CacheStatsResponse.CacheStatsResponseBuilder response = CacheStatsResponse.builder().name(cache.getName());
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            CacheStats stats = caffeine.stats();
+            response.estimatedSize(caffeine.estimatedSize())
+                    .hitCount(stats.hitCount())
+                    .missCount(stats.missCount())
+                    .hitRate(stats.hitRate())
+                    .evictionCount(stats.evictionCount());
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.safemenu.api.cache;
+
+import com.safemenu.api.config.MenuCacheProperties;
+import com.safemenu.api.event.MenuChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts committed menu changes to the other API instances and replays theirs locally.
+ *
+ * Local changes are gathered for a short batch window, so a burst of writes becomes a
+ * single message. Messages from other nodes are republished as remote
+ * {@link MenuChangedEvent}s, which every menu cache, snapshot and index already handles.
+ * That replay rebuilds snapshots and the allergen index, so it runs on its own thread rather
+ * than the bus's receiving one. Messages that arrive while a replay is pending join it.
+ */
+@Component
+public class ClusterInvalidationRelay {
+
+    private final InvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long batchWindowMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-invalidation-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService replayer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-invalidation-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Set<Long> pending = new HashSet<>();
+    private Set<Long> remotePending = new HashSet<>();
+
+    public ClusterInvalidationRelay(InvalidationBus bus, ApplicationEventPublisher eventPublisher,
+                                    MenuCacheProperties properties) {
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.batchWindowMillis = properties.getInvalidation().getBatchWindow().toMillis();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(this::onMessage);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        replayer.shutdown();
+        flush();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        boolean scheduleFlush;
+        synchronized (this) {
+            scheduleFlush = pending.isEmpty();
+            pending.addAll(event.restaurantIds());
+        }
+        if (scheduleFlush && !flusher.isShutdown()) {
+            flusher.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush() {
+        Set<Long> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashSet<>();
+        }
+        bus.publish(new InvalidationMessage(nodeId, batch));
+    }
+
+    void onMessage(InvalidationMessage message) {
+        if (nodeId.equals(message.originNodeId()) || message.restaurantIds().isEmpty()) {
+            return;
+        }
+        boolean scheduleReplay;
+        synchronized (this) {
+            scheduleReplay = remotePending.isEmpty();
+            remotePending.addAll(message.restaurantIds());
+        }
+        if (scheduleReplay && !replayer.isShutdown()) {
+            replayer.execute(this::replay);
+        }
+    }
+
+    void replay() {
+        Set<Long> batch;
+        synchronized (this) {
+            if (remotePending.isEmpty()) {
+                return;
+            }
+            batch = remotePending;
+            remotePending = new HashSet<>();
+        }
+        eventPublisher.publishEvent(MenuChangedEvent.remote(batch));
+    }
+}
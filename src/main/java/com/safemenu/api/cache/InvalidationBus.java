@@ -0,0 +1,16 @@
+package com.safemenu.api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport that carries menu invalidations between API instances.
+ *
+ * Implementations deliver every published message to the subscribers of all nodes,
+ * possibly including the publishing node itself; receivers skip their own messages.
+ */
+public interface InvalidationBus {
+
+    void publish(InvalidationMessage message);
+
+    void subscribe(Consumer<InvalidationMessage> subscriber);
+}
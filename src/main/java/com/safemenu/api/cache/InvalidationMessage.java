@@ -0,0 +1,13 @@
+package com.safemenu.api.cache;
+
+import java.util.Set;
+
+/**
+ * Restaurants whose menus changed on the node identified by {@code originNodeId}.
+ */
+public record InvalidationMessage(String originNodeId, Set<Long> restaurantIds) {
+
+    public InvalidationMessage {
+        restaurantIds = Set.copyOf(restaurantIds);
+    }
+}
@@ -0,0 +1,67 @@
+package com.safemenu.api.cache;
+
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.service.MenuCacheKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Evicts only the cached menu entries of restaurants touched by a committed write.
+ *
+ * Every key in the menu caches is a {@link MenuCacheKey} naming its restaurant, so a
+ * restaurant's entries can be removed instead of flushing the whole cache. The services
+ * resolve which restaurants a write affects — including ingredient → dishes → restaurant
+ * fan-out — and announce them through {@link MenuChangedEvent}.
+ *
+ * Eviction runs last ({@link MenuChangedEvent#EVICTION_ORDER}), after snapshots are rebuilt
+ * and versions dropped. Keys also carry the menu version the entry was built from, so an
+ * entry a racing read stores late is never served under a newer version.
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuCacheInvalidator {
+
+    static final List<String> MENU_CACHES = List.of("restaurantMenus", "safeDishes", MenuResponseCache.CACHE_NAME);
+
+    private final CacheManager cacheManager;
+
+    @Order(MenuChangedEvent.EVICTION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        evict(event.restaurantIds());
+    }
+
+    public void evict(Set<Long> restaurantIds) {
+        for (String cacheName : MENU_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && !restaurantIds.isEmpty()) {
+                evictRestaurants(cache, restaurantIds);
+            }
+        }
+    }
+
+    private void evictRestaurants(Cache cache, Set<Long> restaurantIds) {
+        Object store = cache.getNativeCache();
+        if (store instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().keySet().removeIf(key -> belongsTo(key, restaurantIds));
+        } else if (store instanceof ConcurrentMap<?, ?> entries) {
+            entries.keySet().removeIf(key -> belongsTo(key, restaurantIds));
+        } else {
+            // Unknown store that cannot be scanned — stay correct with a full flush
+            cache.clear();
+        }
+    }
+
+    /** Entries under any other key are not tied to one restaurant, so they go too. */
+    private static boolean belongsTo(Object key, Set<Long> restaurantIds) {
+        return !(key instanceof MenuCacheKey menuKey) || restaurantIds.contains(menuKey.restaurantId());
+    }
+}
@@ -0,0 +1,99 @@
+package com.safemenu.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.config.MenuCacheProperties;
+import com.safemenu.api.service.MenuCacheKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hot menu responses cached as ready-encoded bytes, so a cache hit skips Jackson entirely
+ * and the controller writes the bytes straight to the response.
+ *
+ * Keys are the same {@link MenuCacheKey} as the object cache of the read, so
+ * {@link MenuCacheInvalidator} evicts them together with the object caches.
+ *
+ * Every lookup is timed as {@code safemenu.menu.responses}, tagged with the key's {@code kind} and
+ * whether the bytes came from the {@code cache} ({@code hit}) or were loaded and encoded ({@code miss});
+ * the timers are registered once per kind and outcome, not on every lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuResponseCache {
+
+    static final String CACHE_NAME = "menuResponses";
+    static final String TIMER_NAME = "safemenu.menu.responses";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final MenuCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> hits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the encoded body for {@code key}, serializing the value produced by
+     * {@code loader} on a miss.
+     */
+    public SerializedResponse get(MenuCacheKey key, Supplier<?> loader) {
+        long start = System.nanoTime();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        boolean[] loaded = {cache == null};
+        SerializedResponse response = cache == null
+                ? encode(loader.get())
+                : cache.get(key, () -> {
+                    loaded[0] = true;
+                    return encode(loader.get());
+                });
+        (loaded[0] ? misses : hits)
+                .computeIfAbsent(key.kind(), loaded[0] ? this::missTimer : this::hitTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private Timer hitTimer(String kind) {
+        return timer(kind, "hit");
+    }
+
+    private Timer missTimer(String kind) {
+        return timer(kind, "miss");
+    }
+
+    private Timer timer(String kind, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Menu reads served through the encoded response cache")
+                .tags("kind", kind, "cache", outcome)
+                .register(meterRegistry);
+    }
+
+    private SerializedResponse encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            MenuCacheProperties.Serialized settings = properties.getSerialized();
+            byte[] gzip = settings.isGzip() && json.length >= settings.getGzipMinBytes() ? gzip(json) : null;
+            return new SerializedResponse(json, gzip);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize cached menu response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
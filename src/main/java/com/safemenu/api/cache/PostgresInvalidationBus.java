@@ -0,0 +1,162 @@
+package com.safemenu.api.cache;
+
+import com.safemenu.api.config.MenuCacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidation bus over PostgreSQL {@code LISTEN/NOTIFY}.
+ *
+ * Messages are sent with {@code pg_notify} through the pooled data source. A daemon
+ * thread keeps its own connection outside the pool listening on the channel and
+ * reconnects with a short back-off if it drops; notifications missed while
+ * disconnected are covered by the cache expiry.
+ */
+@Slf4j
+@Component
+@Profile("docker")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    /** NOTIFY payloads are limited to 8000 bytes; stay well below. */
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_BACKOFF_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final List<Consumer<InvalidationMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                   MenuCacheProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = properties.getInvalidation().getChannel();
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listener = new Thread(this::listen, "menu-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (String payload : encode(message)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, channel, payload);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(decode(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    log.warn("Lost menu invalidation listener connection, reconnecting: {}", ex.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void dispatch(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException ex) {
+                log.error("Menu invalidation subscriber failed", ex);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /** {@code <nodeId>:<id>,<id>,...}, split across several payloads if needed. */
+    static List<String> encode(InvalidationMessage message) {
+        List<String> payloads = new ArrayList<>();
+        String prefix = message.originNodeId() + ":";
+        StringBuilder payload = new StringBuilder(prefix);
+        Iterator<Long> ids = message.restaurantIds().iterator();
+        while (ids.hasNext()) {
+            String id = ids.next().toString();
+            if (payload.length() + id.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(prefix);
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    static InvalidationMessage decode(String payload) {
+        int separator = payload.indexOf(':');
+        String ids = payload.substring(separator + 1);
+        Set<Long> restaurantIds = ids.isEmpty() ? Set.of() : Arrays.stream(ids.split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toCollection(HashSet::new));
+        return new InvalidationMessage(payload.substring(0, separator), restaurantIds);
+    }
+}
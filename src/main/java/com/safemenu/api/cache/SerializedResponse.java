@@ -0,0 +1,20 @@
+package com.safemenu.api.cache;
+
+/**
+ * A response body encoded once and served many times: the JSON bytes and,
+ * when the body is large enough to benefit, a gzip-compressed copy.
+ *
+ * @param json UTF-8 JSON exactly as Jackson would have written it
+ * @param gzip gzip-compressed {@code json}, or {@code null} when not precompressed
+ */
+public record SerializedResponse(byte[] json, byte[] gzip) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /** Retained size in bytes, used to weigh the entry in its cache. */
+    public int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,64 @@
+package com.safemenu.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safemenu.api.cache.SerializedResponse;
+import com.safemenu.api.dto.response.CursorPage;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+
+@Configuration
+@EnableConfigurationProperties(MenuCacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * Bounded Caffeine caches with per-cache size or weight limits and
+     * expire-after-write, all recording hit/miss/eviction statistics.
+     */
+    @Bean
+    public CacheManager cacheManager(MenuCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        properties.getCaches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, builder(spec).build()));
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(MenuCacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher((key, value) -> weightOf(value));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    /**
+     * Weight of a cached value — the number of dishes it holds, or KiB retained for a
+     * serialized response; at least 1.
+     */
+    private static int weightOf(Object value) {
+        if (value instanceof SerializedResponse response) {
+            return Math.max(1, response.size() / 1024);
+        }
+        if (value instanceof Page<?> page) {
+            return Math.max(1, page.getNumberOfElements());
+        }
+        if (value instanceof CursorPage<?> page) {
+            return Math.max(1, page.getContent().size());
+        }
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.safemenu.api.config;
+
+import com.safemenu.api.jdbc.ConcurrencyLimitingDataSource;
+import com.safemenu.api.jdbc.SimulatedLatencyInspector;
+import com.safemenu.api.metrics.RequestStatementCounter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(DatabaseProperties.class)
+public class DatabaseConfig {
+
+    /**
+     * On virtual threads, wraps the Hikari pool in a {@link ConcurrencyLimitingDataSource}
+     * sized to the pool, so waiting requests park on a semaphore instead of the pool.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // Applies Hikari's defaults (pool size, timeouts) that are otherwise filled in on first use
+                hikari.validate();
+                DatabaseProperties properties = Binder.get(environment)
+                        .bind("safemenu.db", DatabaseProperties.class)
+                        .orElseGet(DatabaseProperties::new);
+                int maxConcurrency = properties.getMaxConcurrency() != null
+                        ? properties.getMaxConcurrency() : hikari.getMaximumPoolSize();
+                Duration acquireTimeout = properties.getAcquireTimeout() != null
+                        ? properties.getAcquireTimeout() : Duration.ofMillis(hikari.getConnectionTimeout());
+                return new ConcurrencyLimitingDataSource(hikari, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) throws SQLException {
+        ConcurrencyLimitingDataSource limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        return registry -> {
+            Gauge.builder("safemenu.db.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaitingThreads)
+                    .description("Threads waiting for a database connection permit")
+                    .register(registry);
+            Gauge.builder("safemenu.db.limiter.available", limiter, ConcurrencyLimitingDataSource::getAvailablePermits)
+                    .description("Database connection permits currently free")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Hibernate takes a single statement inspector: chains the per-request statement counter
+     * with the simulated latency, when one is configured.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(RequestStatementCounter counter,
+                                                                     DatabaseProperties properties) {
+        List<StatementInspector> inspectors = new ArrayList<>(List.of(counter));
+        Duration latency = properties.getSimulatedLatency();
+        if (latency != null && latency.isPositive()) {
+            inspectors.add(new SimulatedLatencyInspector(latency));
+        }
+        StatementInspector chain = sql -> {
+            for (StatementInspector inspector : inspectors) {
+                sql = inspector.inspect(sql);
+            }
+            return sql;
+        };
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, chain);
+    }
+}
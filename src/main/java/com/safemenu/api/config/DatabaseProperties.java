@@ -0,0 +1,31 @@
+package com.safemenu.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Database access limits, bound from {@code safemenu.db}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safemenu.db")
+public class DatabaseProperties {
+
+    /**
+     * Connections that may be checked out at once when running on virtual threads;
+     * unset means the Hikari pool's maximum size.
+     */
+    private Integer maxConcurrency;
+
+    /** How long a request may wait for a permit; unset means Hikari's connection timeout. */
+    private Duration acquireTimeout;
+
+    /**
+     * Artificial delay added to every statement Hibernate prepares — for load-testing
+     * slow-database conditions only, never in production.
+     */
+    private Duration simulatedLatency = Duration.ZERO;
+}
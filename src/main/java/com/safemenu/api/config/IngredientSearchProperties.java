@@ -0,0 +1,36 @@
+package com.safemenu.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Ingredient typeahead settings, bound from {@code safemenu.search}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safemenu.search")
+public class IngredientSearchProperties {
+
+    public enum Engine { MEMORY, DATABASE }
+
+    /**
+     * MEMORY: in-process name index; DATABASE: LIKE query (pg_trgm-indexed on PostgreSQL), whose
+     * word-prefix tier only splits words on spaces and which matches stored names as written.
+     */
+    private Engine engine = Engine.MEMORY;
+
+    /** Results returned when the client does not ask for a limit. */
+    private int defaultLimit = 10;
+
+    /** Largest limit a client may ask for. */
+    private int maxLimit = 50;
+
+    /** Ingredient writes held beside the index before it is rebuilt in the background. */
+    private int rebuildThreshold = 1_000;
+
+    /** Full rebuild interval — also picks up writes made through other API instances. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,80 @@
+package com.safemenu.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounds and expiry for the application caches, bound from {@code safemenu.cache}.
+ *
+ * Each cache is limited either by entry count ({@code maximum-size}) or by weight
+ * ({@code maximum-weight}, measured in cached dishes — or in KiB for caches holding
+ * serialized responses). Caches without an entry under
+ * {@code caches} use {@code defaults}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safemenu.cache")
+public class MenuCacheProperties {
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    private Invalidation invalidation = new Invalidation();
+
+    private Serialized serialized = new Serialized();
+
+    private Snapshots snapshots = new Snapshots();
+
+    @Getter
+    @Setter
+    public static class Spec {
+
+        private Long maximumSize;
+
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite;
+    }
+
+    /** Cross-node invalidation bus settings. */
+    @Getter
+    @Setter
+    public static class Invalidation {
+
+        /** How long local invalidations are gathered before one broadcast is sent. */
+        private Duration batchWindow = Duration.ofMillis(10);
+
+        /** PostgreSQL LISTEN/NOTIFY channel used in the docker profile. */
+        private String channel = "safemenu_menu_invalidation";
+    }
+
+    /** Pre-serialized response cache settings. */
+    @Getter
+    @Setter
+    public static class Serialized {
+
+        /** Whether a gzip-compressed copy is kept next to the JSON bytes. */
+        private boolean gzip = true;
+
+        /** Bodies smaller than this are not worth compressing. */
+        private int gzipMinBytes = 1024;
+    }
+
+    /** In-memory per-restaurant menu snapshots. */
+    @Getter
+    @Setter
+    public static class Snapshots {
+
+        /** Upper bound on the dishes held across all snapshots. */
+        private long maximumWeight = 200_000;
+
+        /** Snapshots of restaurants nobody reads for this long are dropped. */
+        private Duration expireAfterAccess = Duration.ofMinutes(30);
+    }
+}
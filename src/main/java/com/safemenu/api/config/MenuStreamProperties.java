@@ -0,0 +1,31 @@
+package com.safemenu.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Live menu stream (Server-Sent Events) settings, bound from {@code safemenu.stream}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "safemenu.stream")
+public class MenuStreamProperties {
+
+    /** Changes committed within this window reach subscribers as a single event. */
+    private Duration coalesceWindow = Duration.ofMillis(250);
+
+    /** Idle connections get a comment line this often, so proxies keep them open. */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /** Connections are closed after this long; clients reconnect with Last-Event-ID. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Threads writing events to subscribers, shared by all connections. */
+    private int senderThreads = 4;
+
+    /** Open connections accepted per API instance. */
+    private int maxSubscribers = 20_000;
+}
@@ -0,0 +1,9 @@
+package com.safemenu.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MenuStreamProperties.class)
+public class StreamConfig {
+}
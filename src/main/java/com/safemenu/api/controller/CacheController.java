@@ -0,0 +1,28 @@
+package com.safemenu.api.controller;
+
+import com.safemenu.api.cache.CacheStatsReporter;
+import com.safemenu.api.dto.response.CacheStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/caches")
+@RequiredArgsConstructor
+@Tag(name = "Caches", description = "Inspect menu cache effectiveness")
+public class CacheController {
+
+    private final CacheStatsReporter cacheStatsReporter;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Hit/miss/eviction statistics and size of every cache")
+    public ResponseEntity<List<CacheStatsResponse>> stats() {
+        return ResponseEntity.ok(cacheStatsReporter.report());
+    }
+}
@@ -1,23 +1,42 @@
 package com.safemenu.api.controller;
 
+import com.safemenu.api.cache.MenuResponseCache;
+import com.safemenu.api.cache.SerializedResponse;
 import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.request.PartySafeDishesRequest;
+import com.safemenu.api.dto.response.BulkImportResponse;
+import com.safemenu.api.dto.response.CursorPage;
 import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.dto.response.PartySafeDishesResponse;
 import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.service.DishImportService;
 import com.safemenu.api.service.DishService;
+import com.safemenu.api.service.MenuCursor;
+import com.safemenu.api.snapshot.MenuSnapshot;
+import com.safemenu.api.snapshot.MenuVersionRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Every dish list is keyset-paginated in menu order (category display order, then dish id):
+ * pass the previous page's {@code nextCursor} as {@code ?cursor=} to continue. Totals are only
+ * computed with {@code ?includeTotal=true}.
+ *
+ * Restaurant-scoped reads read the menu version once, before the body, and take the ETag and
+ * cache key from that same version — from the {@link MenuSnapshot} the body is sliced from,
+ * where there is one.
+ */
 @RestController
 @RequestMapping("/api/v1/dishes")
 @RequiredArgsConstructor
@@ -25,6 +44,9 @@ import java.util.Set;
 public class DishController {
 
     private final DishService dishService;
+    private final DishImportService importService;
+    private final MenuResponseCache responseCache;
+    private final MenuVersionRegistry menuVersions;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get dish by ID with full allergen breakdown")
@@ -33,17 +55,39 @@ public class DishController {
     }
 
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "List dishes in a menu category")
-    public ResponseEntity<List<DishResponse>> findByCategory(@PathVariable("categoryId") Long categoryId) {
-        return ResponseEntity.ok(dishService.findByCategory(categoryId));
+    @Operation(summary = "List dishes in a menu category (cursor-paginated)")
+    public ResponseEntity<CursorPage<DishResponse>> findByCategory(
+            @PathVariable("categoryId") Long categoryId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "" + MenuCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(dishService.findByCategory(
+                categoryId, MenuCursor.decode(cursor), MenuCursor.checkPageSize(size), includeTotal));
     }
 
     @GetMapping("/restaurant/{restaurantId}")
-    @Operation(summary = "Paginated full menu for a restaurant")
-    public ResponseEntity<Page<DishResponse>> findByRestaurant(
+    @Operation(summary = "Full menu for a restaurant (cursor-paginated)")
+    public ResponseEntity<byte[]> findByRestaurant(
             @PathVariable("restaurantId") Long restaurantId,
-            @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(dishService.findByRestaurant(restaurantId, pageable));
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "" + MenuCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        MenuCursor after = MenuCursor.decode(cursor);
+        MenuCursor.checkPageSize(size);
+        long menuVersion = menuVersions.current(restaurantId);
+        if (notModified(request, restaurantId, menuVersion)) {
+            return null;
+        }
+        SerializedResponse body = responseCache.get(
+                DishService.buildMenuPageCacheKey(restaurantId, menuVersion, after, size, includeTotal),
+                () -> dishService.findByRestaurant(restaurantId, menuVersion, after, size, includeTotal));
+        boolean gzip = sendsGzip(body, acceptEncoding);
+        if (request.checkNotModified(MenuVersionRegistry.etag(restaurantId, menuVersion, gzip ? "gzip" : null))) {
+            return null;
+        }
+        return serialized(body, gzip);
     }
 
     /**
@@ -56,22 +100,73 @@ public class DishController {
      */
     @GetMapping("/safe")
     @Operation(summary = "Find dishes safe for specific allergies (excludes dishes containing specified allergens)")
-    public ResponseEntity<List<DishResponse>> findSafeDishes(
+    public ResponseEntity<byte[]> findSafeDishes(
             @RequestParam("restaurantId") Long restaurantId,
-            @RequestParam("exclude") Set<AllergenType> exclude) {
-        return ResponseEntity.ok(dishService.findSafeDishes(restaurantId, exclude));
+            @RequestParam("exclude") Set<AllergenType> exclude,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "" + MenuCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        MenuCursor after = MenuCursor.decode(cursor);
+        MenuCursor.checkPageSize(size);
+        MenuSnapshot snapshot = dishService.menuSnapshot(restaurantId);
+        if (notModified(request, restaurantId, snapshot.getMenuVersion())) {
+            return null;
+        }
+        SerializedResponse body = responseCache.get(
+                DishService.buildSafeDishCacheKey(restaurantId, snapshot.getMenuVersion(), exclude, after, size, includeTotal),
+                () -> dishService.findSafeDishes(snapshot, exclude, after, size, includeTotal));
+        boolean gzip = sendsGzip(body, acceptEncoding);
+        if (request.checkNotModified(etag(snapshot, gzip ? "gzip" : null))) {
+            return null;
+        }
+        return serialized(body, gzip);
+    }
+
+    /**
+     * Safe dishes for a whole dining party in one round-trip: per-guest safe dishes plus
+     * the dishes every guest can eat, from a single scan of the menu.
+     */
+    @PostMapping("/safe/party")
+    @Operation(summary = "Find safe dishes for every guest of a dining party at once")
+    public ResponseEntity<PartySafeDishesResponse> findSafeDishesForParty(
+            @Valid @RequestBody PartySafeDishesRequest request) {
+        return ResponseEntity.ok(dishService.findSafeDishesForParty(request));
     }
 
     @GetMapping("/restaurant/{restaurantId}/vegetarian")
-    @Operation(summary = "List vegetarian dishes for a restaurant")
-    public ResponseEntity<List<DishResponse>> findVegetarian(@PathVariable("restaurantId") Long restaurantId) {
-        return ResponseEntity.ok(dishService.findVegetarian(restaurantId));
+    @Operation(summary = "List vegetarian dishes for a restaurant (cursor-paginated)")
+    public ResponseEntity<CursorPage<DishResponse>> findVegetarian(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "" + MenuCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        MenuCursor after = MenuCursor.decode(cursor);
+        MenuCursor.checkPageSize(size);
+        MenuSnapshot snapshot = dishService.menuSnapshot(restaurantId);
+        if (request.checkNotModified(etag(snapshot, null))) {
+            return null;
+        }
+        return ResponseEntity.ok(dishService.findVegetarian(snapshot, after, size, includeTotal));
     }
 
     @GetMapping("/restaurant/{restaurantId}/vegan")
-    @Operation(summary = "List vegan dishes for a restaurant")
-    public ResponseEntity<List<DishResponse>> findVegan(@PathVariable("restaurantId") Long restaurantId) {
-        return ResponseEntity.ok(dishService.findVegan(restaurantId));
+    @Operation(summary = "List vegan dishes for a restaurant (cursor-paginated)")
+    public ResponseEntity<CursorPage<DishResponse>> findVegan(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "" + MenuCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            WebRequest request) {
+        MenuCursor after = MenuCursor.decode(cursor);
+        MenuCursor.checkPageSize(size);
+        MenuSnapshot snapshot = dishService.menuSnapshot(restaurantId);
+        if (request.checkNotModified(etag(snapshot, null))) {
+            return null;
+        }
+        return ResponseEntity.ok(dishService.findVegan(snapshot, after, size, includeTotal));
     }
 
     @PostMapping
@@ -80,6 +175,15 @@ public class DishController {
         return ResponseEntity.status(HttpStatus.CREATED).body(dishService.create(request));
     }
 
+    /**
+     * Menu onboarding: creates every valid row in JDBC batches and reports the rejected ones.
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk-create dishes — invalid rows are skipped and reported by index")
+    public ResponseEntity<BulkImportResponse> importDishes(@RequestBody List<DishRequest> requests) {
+        return ResponseEntity.ok(importService.importDishes(requests));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a dish and recompute allergens")
     public ResponseEntity<DishResponse> update(
@@ -100,4 +204,90 @@ public class DishController {
         dishService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /** Writes a pre-encoded body, the gzip copy when {@code gzip}. */
+    private static ResponseEntity<byte[]> serialized(SerializedResponse body, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static String etag(MenuSnapshot snapshot, String variant) {
+        return MenuVersionRegistry.etag(snapshot.getRestaurantId(), snapshot.getMenuVersion(), variant);
+    }
+
+    /**
+     * Answers 304 when {@code If-None-Match} names either encoding of this menu version, before
+     * the body is loaded, so a revalidation costs no query or serialization. Which encoding a
+     * 200 carries is only known from the loaded body.
+     */
+    private static boolean notModified(WebRequest request, Long restaurantId, long menuVersion) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String identity = MenuVersionRegistry.etag(restaurantId, menuVersion, null);
+        String gzip = MenuVersionRegistry.etag(restaurantId, menuVersion, "gzip");
+        for (String header : ifNoneMatch) {
+            for (String tag : header.split(",")) {
+                String opaque = tag.strip();
+                if (opaque.startsWith("W/")) {
+                    opaque = opaque.substring(2);
+                }
+                if (opaque.equals(identity) || opaque.equals(gzip)) {
+                    return request.checkNotModified(opaque);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the gzip copy is what gets sent — the gzip and identity bodies of one menu
+     * version are different representations, so this also picks the ETag variant.
+     */
+    private static boolean sendsGzip(SerializedResponse body, String acceptEncoding) {
+        return body.hasGzip() && acceptsGzip(acceptEncoding);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} admits {@code gzip}: listed with a non-zero q-value, or,
+     * when not listed, covered by a non-zero {@code *}. {@code x-gzip} does not count, as the
+     * body is labelled {@code gzip}.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip();
+            if (coding.equalsIgnoreCase("gzip")) {
+                return qValue(parts) > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = qValue(parts) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] param = parts[i].split("=", 2);
+            if (param.length == 2 && param[0].strip().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(param[1].strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
@@ -1,15 +1,20 @@
 package com.safemenu.api.controller;
 
+import com.safemenu.api.config.IngredientSearchProperties;
 import com.safemenu.api.dto.request.IngredientRequest;
+import com.safemenu.api.dto.response.ImportJobResponse;
 import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.importer.IngredientImportService;
 import com.safemenu.api.service.IngredientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -20,6 +25,8 @@ import java.util.List;
 public class IngredientController {
 
     private final IngredientService ingredientService;
+    private final IngredientImportService importService;
+    private final IngredientSearchProperties searchProperties;
 
     @GetMapping
     @Operation(summary = "List all ingredients")
@@ -33,10 +40,18 @@ public class IngredientController {
         return ResponseEntity.ok(ingredientService.findById(id));
     }
 
+    /**
+     * Autocomplete: names starting with the query first, then names with a word starting
+     * with it, then names containing it.
+     *
+     * Example: GET /api/v1/ingredients/search?query=pea&limit=10
+     */
     @GetMapping("/search")
-    @Operation(summary = "Search ingredients by name")
-    public ResponseEntity<List<IngredientResponse>> search(@RequestParam String query) {
-        return ResponseEntity.ok(ingredientService.search(query));
+    @Operation(summary = "Typeahead search of ingredients by name, ranked")
+    public ResponseEntity<List<IngredientResponse>> search(
+            @RequestParam String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(ingredientService.search(query, searchLimit(limit)));
     }
 
     @PostMapping
@@ -45,6 +60,20 @@ public class IngredientController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ingredientService.create(request));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import an ingredient catalog from CSV",
+            description = "Columns: name, description, allergens (AllergenType names separated by ';'). "
+                    + "Existing ingredients are matched by name, ignoring case. Runs in the background — poll the returned job.")
+    public ResponseEntity<ImportJobResponse> importCatalog(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.start(file));
+    }
+
+    @GetMapping("/import/{jobId}")
+    @Operation(summary = "Get the progress of an ingredient catalog import")
+    public ResponseEntity<ImportJobResponse> findImportJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(importService.findJob(jobId));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an ingredient")
     public ResponseEntity<IngredientResponse> update(
@@ -59,4 +88,14 @@ public class IngredientController {
         ingredientService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private int searchLimit(Integer limit) {
+        if (limit == null) {
+            return searchProperties.getDefaultLimit();
+        }
+        if (limit < 1 || limit > searchProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + searchProperties.getMaxLimit());
+        }
+        return limit;
+    }
 }
@@ -4,6 +4,7 @@ import com.safemenu.api.dto.request.CategoryRequest;
 import com.safemenu.api.dto.response.ApiErrorResponse;
 import com.safemenu.api.dto.response.CategoryResponse;
 import com.safemenu.api.service.MenuCategoryService;
+import com.safemenu.api.snapshot.MenuVersionRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,11 +27,19 @@ import java.util.List;
 public class MenuCategoryController {
 
     private final MenuCategoryService categoryService;
+    private final MenuVersionRegistry menuVersions;
 
     @GetMapping("/restaurant/{restaurantId}")
     @Operation(summary = "List categories for a restaurant (ordered by display order)")
-    @ApiResponse(responseCode = "200", description = "Categories returned")
-    public ResponseEntity<List<CategoryResponse>> findByRestaurant(@PathVariable("restaurantId") Long restaurantId) {
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categories returned"),
+            @ApiResponse(responseCode = "304", description = "Menu unchanged since the If-None-Match ETag")
+    })
+    public ResponseEntity<List<CategoryResponse>> findByRestaurant(@PathVariable("restaurantId") Long restaurantId,
+                                                                   WebRequest request) {
+        if (request.checkNotModified(menuVersions.etag(restaurantId, null))) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.findByRestaurant(restaurantId));
     }
 
@@ -1,17 +1,30 @@
 package com.safemenu.api.controller;
 
 import com.safemenu.api.dto.request.RestaurantRequest;
+import com.safemenu.api.dto.response.MenuChangesResponse;
 import com.safemenu.api.dto.response.RestaurantResponse;
+import com.safemenu.api.dto.response.RestaurantSafeDishesResponse;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.service.MenuChangeLogService;
+import com.safemenu.api.service.MenuExportService;
 import com.safemenu.api.service.RestaurantService;
+import com.safemenu.api.stream.MenuStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/restaurants")
@@ -20,11 +33,50 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final MenuChangeLogService changeLogService;
+    private final MenuStreamHub menuStreamHub;
+    private final MenuExportService exportService;
 
+    /**
+     * Example: GET /api/v1/restaurants?active=true&page=0&size=20
+     */
     @GetMapping
-    @Operation(summary = "List all restaurants")
-    public ResponseEntity<List<RestaurantResponse>> findAll() {
-        return ResponseEntity.ok(restaurantService.findAll());
+    @Operation(summary = "List restaurants (paginated, optionally filtered by active status)")
+    public ResponseEntity<Page<RestaurantResponse>> findAll(
+            @RequestParam(name = "active", required = false) Boolean active,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        return ResponseEntity.ok(restaurantService.findAll(active, pageable));
+    }
+
+    /**
+     * Group-wide safe dining search.
+     *
+     * Example: GET /api/v1/restaurants/safe?exclude=MILK,NUTS&minSafeDishes=3&limit=10
+     */
+    @GetMapping("/safe")
+    @Operation(summary = "Find restaurants with at least N dishes safe for specific allergies, ranked by safe-dish count")
+    public ResponseEntity<List<RestaurantSafeDishesResponse>> findWithSafeDishes(
+            @RequestParam("exclude") Set<AllergenType> exclude,
+            @RequestParam(name = "minSafeDishes", defaultValue = "1") int minSafeDishes,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        if (minSafeDishes < 1) {
+            throw new IllegalArgumentException("minSafeDishes must be at least 1");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return ResponseEntity.ok(restaurantService.findWithSafeDishes(exclude, minSafeDishes, limit));
+    }
+
+    /**
+     * Menu dump of several restaurants (e.g. a whole chain) as NDJSON, one dish per line.
+     *
+     * Example: GET /api/v1/restaurants/menu/export?ids=1,2,3
+     */
+    @GetMapping(path = "/menu/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export the full menus of several restaurants as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportMenus(@RequestParam("ids") List<Long> ids) {
+        return export(exportService.requireRestaurants(ids));
     }
 
     @GetMapping("/{id}")
@@ -33,6 +85,48 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.findById(id));
     }
 
+    /**
+     * Delta sync for menu clients: everything that changed after the version they hold.
+     *
+     * Example: GET /api/v1/restaurants/1/menu/changes?since=42
+     */
+    @GetMapping("/{id}/menu/changes")
+    @Operation(summary = "Dishes and categories created, updated or deleted since a menu version")
+    public ResponseEntity<MenuChangesResponse> findMenuChanges(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "since", defaultValue = "0") long since) {
+        return ResponseEntity.ok(changeLogService.findChanges(id, since));
+    }
+
+    /**
+     * Live menu updates as Server-Sent Events: a {@code menu-changes} event with the same
+     * body as the delta-sync endpoint after each burst of committed changes. Event ids are
+     * menu versions; reconnecting with {@code Last-Event-ID} replays what was missed.
+     */
+    @GetMapping(path = "/{id}/menu/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream availability, price and allergen changes of a restaurant's menu (SSE)")
+    public SseEmitter streamMenuChanges(
+            @PathVariable("id") Long id,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return menuStreamHub.subscribe(id, lastEventId);
+    }
+
+    /**
+     * Full menu dump as NDJSON — dishes with ingredients and allergens, one per line,
+     * streamed from a database cursor in constant memory.
+     */
+    @GetMapping(path = "/{id}/menu/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export a restaurant's full menu as NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportMenu(@PathVariable("id") Long id) {
+        return export(exportService.requireRestaurants(List.of(id)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Set<Long> restaurantIds) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> exportService.export(restaurantIds, out));
+    }
+
     @PostMapping
     @Operation(summary = "Create a new restaurant")
     public ResponseEntity<RestaurantResponse> create(@Valid @RequestBody RestaurantRequest request) {
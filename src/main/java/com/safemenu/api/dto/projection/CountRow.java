@@ -0,0 +1,8 @@
+package com.safemenu.api.dto.projection;
+
+/**
+ * Result row of a grouped count — {@code ownerId} is the grouping key
+ * (restaurant or category id).
+ */
+public record CountRow(Long ownerId, Long count) {
+}
@@ -0,0 +1,13 @@
+package com.safemenu.api.dto.projection;
+
+/**
+ * Flat dish row carrying just what the cross-restaurant allergen index needs.
+ */
+public record DishAllergenRow(
+        Long dishId,
+        Long restaurantId,
+        String restaurantName,
+        boolean available,
+        int allergenMask
+) {
+}
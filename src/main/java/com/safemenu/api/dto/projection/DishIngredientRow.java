@@ -0,0 +1,17 @@
+package com.safemenu.api.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ingredient of one dish, with the ingredient's allergens as a mask and its
+ * {@code updatedAt} as the version for sharing responses.
+ */
+public record DishIngredientRow(
+        Long dishId,
+        Long ingredientId,
+        String name,
+        String description,
+        int allergenMask,
+        LocalDateTime updatedAt
+) {
+}
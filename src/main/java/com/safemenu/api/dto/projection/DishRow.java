@@ -0,0 +1,22 @@
+package com.safemenu.api.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, read-only dish row with its category — selected with a constructor
+ * expression, so no entity is hydrated or tracked by the persistence context.
+ */
+public record DishRow(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        boolean available,
+        boolean vegetarian,
+        boolean vegan,
+        Long categoryId,
+        String categoryName,
+        int categoryDisplayOrder,
+        int allergenMask
+) {
+}
@@ -0,0 +1,44 @@
+package com.safemenu.api.dto.request;
+
+import com.safemenu.api.enums.AllergenType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartySafeDishesRequest {
+
+    public static final int MAX_GUESTS = 100;
+
+    @NotNull(message = "Restaurant ID is required")
+    private Long restaurantId;
+
+    @NotEmpty(message = "At least one guest is required")
+    @Size(max = MAX_GUESTS, message = "A party can have at most " + MAX_GUESTS + " guests")
+    @Builder.Default
+    private List<@Valid Guest> guests = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Guest {
+
+        @NotBlank(message = "Guest name is required")
+        private String name;
+
+        /** Allergens this guest must avoid */
+        @Builder.Default
+        private Set<AllergenType> exclude = new HashSet<>();
+    }
+}
@@ -0,0 +1,33 @@
+package com.safemenu.api.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResponse {
+
+    /** Rows in the request */
+    private int received;
+
+    /** Rows inserted; every other row is listed in {@code errors} */
+    private int imported;
+
+    private List<RowError> errors;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /** Zero-based position of the rejected row in the request */
+        private int index;
+
+        private String message;
+    }
+}
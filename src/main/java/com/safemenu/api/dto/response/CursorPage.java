@@ -0,0 +1,32 @@
+package com.safemenu.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass {@code nextCursor} back as {@code cursor}
+ * to get the following page; it is {@code null} on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    /** Requested page size */
+    private int size;
+
+    private boolean hasNext;
+
+    /** Opaque continuation token for the next page */
+    private String nextCursor;
+
+    /** Total matching elements — only computed when {@code includeTotal=true} */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
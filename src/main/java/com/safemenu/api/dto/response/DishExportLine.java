@@ -0,0 +1,21 @@
+package com.safemenu.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.*;
+
+/**
+ * One line of a menu export: the dish as returned by the dish endpoints, plus the
+ * restaurant it belongs to so multi-restaurant exports stay self-describing.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DishExportLine {
+
+    private Long restaurantId;
+
+    @JsonUnwrapped
+    private DishResponse dish;
+}
@@ -23,6 +23,9 @@ public class DishResponse {
     private String categoryName;
     private Long categoryId;
 
+    /** Position of the category on the menu — lists are ordered by it, then by dish id */
+    private int categoryDisplayOrder;
+
     /** Ingredients used in this dish */
     private Set<IngredientResponse> ingredients;
 
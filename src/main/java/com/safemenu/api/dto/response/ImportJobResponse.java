@@ -0,0 +1,46 @@
+package com.safemenu.api.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobResponse {
+
+    private String jobId;
+
+    /** QUEUED, RUNNING, COMPLETED or FAILED */
+    private String status;
+
+    /** Data rows read so far, header excluded */
+    private long rowsRead;
+
+    private long inserted;
+    private long updated;
+
+    /** Rows matching an existing ingredient with identical description and allergens */
+    private long unchanged;
+
+    /** Rows superseded by a later row with the same name in the same chunk */
+    private long duplicates;
+
+    private long rejected;
+
+    /** Dishes whose allergen mask was recomputed after allergen changes */
+    private long dishesUpdated;
+
+    /** First rejected rows; {@code index} is the 1-based line in the CSV file */
+    private List<BulkImportResponse.RowError> errors;
+
+    /** Why the job stopped, when FAILED */
+    private String failure;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -5,15 +5,19 @@ import lombok.*;
 
 import java.util.Set;
 
+/**
+ * Immutable — dish mappings share one instance per ingredient version
+ * (see {@link com.safemenu.api.mapper.IngredientResponseRegistry}).
+ */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class IngredientResponse {
 
-    private Long id;
-    private String name;
-    private String description;
-    private Set<AllergenType> allergens;
+    private final Long id;
+    private final String name;
+    private final String description;
+
+    /** Unmodifiable */
+    private final Set<AllergenType> allergens;
 }
@@ -0,0 +1,33 @@
+package com.safemenu.api.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuChangesResponse {
+
+    private Long restaurantId;
+
+    /** Version the client synced to last */
+    private long since;
+
+    /** Version to send as {@code since} on the next sync */
+    private long version;
+
+    /** Tombstones older than {@code since} were purged — reload the full menu instead */
+    private boolean resyncRequired;
+
+    /** Current state of every dish created or updated since {@code since} */
+    private List<DishResponse> dishes;
+
+    /** Current state of every category created or updated since {@code since} */
+    private List<CategoryResponse> categories;
+
+    private List<Long> deletedDishIds;
+    private List<Long> deletedCategoryIds;
+}
@@ -0,0 +1,40 @@
+package com.safemenu.api.dto.response;
+
+import com.safemenu.api.enums.AllergenType;
+import lombok.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Safe dishes for every guest of a dining party. Each dish that is safe for at least one
+ * guest appears once in {@code dishes} (menu order); guests reference them by id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartySafeDishesResponse {
+
+    private Long restaurantId;
+
+    private List<DishResponse> dishes;
+
+    private List<GuestSafeDishes> guests;
+
+    /** Dishes safe for every guest of the party */
+    private List<Long> safeForEveryone;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class GuestSafeDishes {
+
+        private String name;
+        private Set<AllergenType> exclude;
+        private List<Long> safeDishIds;
+    }
+}
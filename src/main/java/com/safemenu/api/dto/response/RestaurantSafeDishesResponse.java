@@ -0,0 +1,17 @@
+package com.safemenu.api.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantSafeDishesResponse {
+
+    private Long restaurantId;
+    private String restaurantName;
+
+    /** Number of available dishes free of every excluded allergen */
+    private int safeDishCount;
+}
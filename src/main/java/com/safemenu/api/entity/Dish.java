@@ -3,11 +3,12 @@ package com.safemenu.api.entity;
 import com.safemenu.api.enums.AllergenType;
 import jakarta.persistence.*;
 import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "dishes")
@@ -15,7 +16,7 @@ import java.util.stream.Collectors;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@SuperBuilder
 public class Dish extends BaseEntity {
 
     @Column(nullable = false)
@@ -44,6 +45,7 @@ public class Dish extends BaseEntity {
     private MenuCategory category;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "dish_ingredients",
             joinColumns = @JoinColumn(name = "dish_id"),
@@ -53,14 +55,30 @@ public class Dish extends BaseEntity {
     private Set<Ingredient> ingredients = new HashSet<>();
 
     /**
-     * Automatically computes all allergens present in this dish
-     * by aggregating allergens from each ingredient.
+     * Union of the allergen masks of all ingredients, one bit per {@link AllergenType} ordinal.
+     * Lets the safe-dish query filter with a single bitwise predicate.
+     */
+    @Column(name = "allergen_mask", nullable = false)
+    private int allergenMask;
+
+    /**
+     * All allergens present in this dish, aggregated from each ingredient.
      * This is the core business logic of the platform.
      */
     @Transient
     public Set<AllergenType> getComputedAllergens() {
-        return ingredients.stream()
-                .flatMap(ingredient -> ingredient.getAllergens().stream())
-                .collect(Collectors.toSet());
+        return AllergenType.fromMask(allergenMask);
+    }
+
+    /**
+     * Re-derives {@link #allergenMask} from the current ingredients.
+     * Must be called whenever the ingredient set, or an ingredient's allergens, change.
+     */
+    public void recomputeAllergenMask() {
+        int mask = 0;
+        for (Ingredient ingredient : ingredients) {
+            mask |= ingredient.getAllergenMask();
+        }
+        this.allergenMask = mask;
     }
 }
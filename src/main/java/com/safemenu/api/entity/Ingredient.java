@@ -3,6 +3,8 @@ package com.safemenu.api.entity;
 import com.safemenu.api.enums.AllergenType;
 import jakarta.persistence.*;
 import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -13,7 +15,7 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@SuperBuilder
 public class Ingredient extends BaseEntity {
 
     @Column(nullable = false, unique = true)
@@ -27,13 +29,27 @@ public class Ingredient extends BaseEntity {
      * E.g. "Flour" → [CEREALS_WITH_GLUTEN], "Butter" → [MILK]
      */
     @ElementCollection(targetClass = AllergenType.class, fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @CollectionTable(name = "ingredient_allergens", joinColumns = @JoinColumn(name = "ingredient_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "allergen")
     @Builder.Default
     private Set<AllergenType> allergens = new HashSet<>();
 
+    /**
+     * Bitwise union of {@link #allergens}, one bit per {@link AllergenType} ordinal.
+     * Persisted so dish masks can be derived without touching ingredient_allergens.
+     */
+    @Column(name = "allergen_mask", nullable = false)
+    private int allergenMask;
+
     @ManyToMany(mappedBy = "ingredients")
     @Builder.Default
     private Set<Dish> dishes = new HashSet<>();
+
+    /** Replaces the allergen tags and keeps {@link #allergenMask} in step. */
+    public void setAllergens(Set<AllergenType> allergens) {
+        this.allergens = allergens;
+        this.allergenMask = AllergenType.toMask(allergens);
+    }
 }
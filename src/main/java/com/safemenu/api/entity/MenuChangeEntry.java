@@ -0,0 +1,39 @@
+package com.safemenu.api.entity;
+
+import com.safemenu.api.enums.MenuChangeType;
+import com.safemenu.api.enums.MenuEntityType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Latest change of one dish or category in a restaurant's menu, stamped with the menu
+ * version that introduced it. The log is compacted on write — an entity keeps only its
+ * newest entry — so its size tracks the menu, not the write history.
+ */
+@Entity
+@Table(name = "menu_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class MenuChangeEntry extends BaseEntity {
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "menu_version", nullable = false)
+    private long menuVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private MenuEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private MenuChangeType changeType;
+}
@@ -2,6 +2,7 @@ package com.safemenu.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import lombok.experimental.SuperBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,7 +13,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@SuperBuilder
 public class Restaurant extends BaseEntity {
 
     @Column(nullable = false)
@@ -32,6 +33,14 @@ public class Restaurant extends BaseEntity {
     @Builder.Default
     private boolean active = true;
 
+    /** Bumped only by a bulk update alongside each menu write — never written through the entity. */
+    @Column(name = "menu_version", nullable = false, insertable = false, updatable = false)
+    private long menuVersion;
+
+    /** Newest menu version whose tombstones were purged from the change log. */
+    @Column(name = "menu_change_floor", nullable = false, insertable = false, updatable = false)
+    private long menuChangeFloor;
+
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<MenuCategory> categories = new ArrayList<>();
@@ -0,0 +1,88 @@
+package com.safemenu.api.enums;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lookup tables over every possible allergen set. With 14 allergens there are only
+ * 2^14 masks, so what is derived from a set — the set itself, the allergen warning and
+ * the sorted display names — is built once per mask and then shared.
+ *
+ * Entries are filled on first use. A slot may be computed twice by racing threads, which is
+ * harmless: the values are immutable (final-field safe to publish) and equal.
+ */
+public final class AllergenSets {
+
+    public static final int SET_COUNT = 1 << AllergenType.values().length;
+
+    static final String NO_ALLERGENS_WARNING = "No known allergens";
+    static final String WARNING_PREFIX = "⚠ Contains: ";
+
+    private static final AllergenType[] BY_DISPLAY_NAME = sorted(Comparator.comparing(AllergenType::getDisplayName));
+
+    @SuppressWarnings("unchecked")
+    private static final Set<AllergenType>[] SETS = new Set[SET_COUNT];
+    private static final String[] WARNINGS = new String[SET_COUNT];
+    @SuppressWarnings("unchecked")
+    private static final List<String>[] DISPLAY_NAMES = new List[SET_COUNT];
+
+    private AllergenSets() {
+    }
+
+    /** Canonical int key of a set of allergens — its mask. */
+    public static int keyOf(Collection<AllergenType> allergens) {
+        return AllergenType.toMask(allergens);
+    }
+
+    /** The allergens of a mask as an unmodifiable set, shared by every response that carries it. */
+    public static Set<AllergenType> allergens(int mask) {
+        Set<AllergenType> set = SETS[mask];
+        if (set == null) {
+            set = Collections.unmodifiableSet(AllergenType.fromMask(mask));
+            SETS[mask] = set;
+        }
+        return set;
+    }
+
+    /** Human-readable warning, e.g. {@code "⚠ Contains: Eggs, Milk"}. */
+    public static String warning(int mask) {
+        String warning = WARNINGS[mask];
+        if (warning == null) {
+            warning = mask == 0 ? NO_ALLERGENS_WARNING : WARNING_PREFIX + String.join(", ", displayNames(mask));
+            WARNINGS[mask] = warning;
+        }
+        return warning;
+    }
+
+    /** Display names in alphabetical order, as an unmodifiable list. */
+    public static List<String> displayNames(int mask) {
+        List<String> names = DISPLAY_NAMES[mask];
+        if (names == null) {
+            names = names(mask, BY_DISPLAY_NAME, AllergenType::getDisplayName);
+            DISPLAY_NAMES[mask] = names;
+        }
+        return names;
+    }
+
+    private static List<String> names(int mask, AllergenType[] order, Function<AllergenType, String> name) {
+        List<String> names = new ArrayList<>(Integer.bitCount(mask));
+        for (AllergenType allergen : order) {
+            if ((mask & allergen.bit()) != 0) {
+                names.add(name.apply(allergen));
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    private static AllergenType[] sorted(Comparator<AllergenType> order) {
+        AllergenType[] allergens = AllergenType.values();
+        Arrays.sort(allergens, order);
+        return allergens;
+    }
+}
@@ -1,8 +1,15 @@
 package com.safemenu.api.enums;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * EU Regulation No 1169/2011 — the 14 major food allergens
  * that must be declared on food labels and menus across the EU.
+ *
+ * The declaration order is persisted: each allergen owns bit {@code 1 << ordinal()}
+ * of the {@code allergen_mask} columns, so constants must never be reordered.
  */
 public enum AllergenType {
 
@@ -21,6 +28,8 @@ public enum AllergenType {
     SOYBEANS("Soybeans", "Including soya, edamame, tofu, tempeh"),
     SULPHUR_DIOXIDE("Sulphur dioxide / sulphites", "At concentrations above 10mg/kg or 10mg/litre");
 
+    private static final AllergenType[] VALUES = values();
+
     private final String displayName;
     private final String description;
 
@@ -36,4 +45,30 @@ public enum AllergenType {
     public String getDescription() {
         return description;
     }
+
+    /** Bit representing this allergen in an allergen mask. */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** Packs a set of allergens into a mask — null or empty yields {@code 0}. */
+    public static int toMask(Collection<AllergenType> allergens) {
+        if (allergens == null) {
+            return 0;
+        }
+        int mask = 0;
+        for (AllergenType allergen : allergens) {
+            mask |= allergen.bit();
+        }
+        return mask;
+    }
+
+    /** Unpacks an allergen mask back into a set of allergens. */
+    public static Set<AllergenType> fromMask(int mask) {
+        Set<AllergenType> allergens = EnumSet.noneOf(AllergenType.class);
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            allergens.add(VALUES[Integer.numberOfTrailingZeros(remaining)]);
+        }
+        return allergens;
+    }
 }
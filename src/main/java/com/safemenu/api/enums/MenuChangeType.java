@@ -0,0 +1,10 @@
+package com.safemenu.api.enums;
+
+/**
+ * What happened to a menu entity. {@code DELETE} entries are tombstones: they outlive
+ * the entity so syncing clients learn to drop it. Persisted by name.
+ */
+public enum MenuChangeType {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,9 @@
+package com.safemenu.api.enums;
+
+/**
+ * Kinds of menu entities tracked by the menu change log. Persisted by name.
+ */
+public enum MenuEntityType {
+    DISH,
+    CATEGORY
+}
@@ -0,0 +1,19 @@
+package com.safemenu.api.event;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Published inside a write transaction when ingredients are created, renamed or deleted.
+ * Listeners re-read the named ingredients after commit, so the event carries ids only.
+ */
+public record IngredientChangedEvent(Set<Long> ingredientIds) {
+
+    public IngredientChangedEvent {
+        ingredientIds = Set.copyOf(ingredientIds);
+    }
+
+    public static IngredientChangedEvent of(Long... ingredientIds) {
+        return new IngredientChangedEvent(Set.copyOf(Arrays.asList(ingredientIds)));
+    }
+}
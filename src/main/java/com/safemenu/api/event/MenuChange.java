@@ -0,0 +1,18 @@
+package com.safemenu.api.event;
+
+import com.safemenu.api.enums.MenuChangeType;
+import com.safemenu.api.enums.MenuEntityType;
+
+/**
+ * One created, updated or deleted dish or category, as seen from one restaurant's menu.
+ */
+public record MenuChange(Long restaurantId, MenuEntityType entityType, Long entityId, MenuChangeType changeType) {
+
+    public static MenuChange upsert(Long restaurantId, MenuEntityType entityType, Long entityId) {
+        return new MenuChange(restaurantId, entityType, entityId, MenuChangeType.UPSERT);
+    }
+
+    public static MenuChange delete(Long restaurantId, MenuEntityType entityType, Long entityId) {
+        return new MenuChange(restaurantId, entityType, entityId, MenuChangeType.DELETE);
+    }
+}
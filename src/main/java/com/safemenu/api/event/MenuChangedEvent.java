@@ -0,0 +1,54 @@
+package com.safemenu.api.event;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published inside a write transaction whenever the menu of one or more
+ * restaurants changes — dishes, categories, or the ingredients they use.
+ * Listeners that maintain derived state react after commit.
+ *
+ * {@code changes} names the dishes and categories involved, for the menu change
+ * log; it is empty for writes that do not alter individual entries (e.g. restaurant
+ * details) and for relayed events.
+ *
+ * Events relayed from another API instance are marked {@code remote}; they
+ * are applied locally but never re-broadcast.
+ */
+public record MenuChangedEvent(Set<Long> restaurantIds, boolean remote, List<MenuChange> changes) {
+
+    /*
+     * Order of the after-commit listeners. Derived read state is rebuilt before the cached
+     * versions and responses are dropped, so a read that lands in between re-caches the
+     * state it was built from under that state's version — never old data under a new one.
+     */
+    public static final int REBUILD_ORDER = 100;
+    public static final int VERSION_ORDER = 200;
+    public static final int EVICTION_ORDER = 300;
+
+    public MenuChangedEvent {
+        restaurantIds = Set.copyOf(restaurantIds);
+        changes = List.copyOf(changes);
+    }
+
+    public MenuChangedEvent(Set<Long> restaurantIds) {
+        this(restaurantIds, false, List.of());
+    }
+
+    public static MenuChangedEvent of(Long... restaurantIds) {
+        return new MenuChangedEvent(Set.copyOf(Arrays.asList(restaurantIds)));
+    }
+
+    /** Event covering exactly the restaurants whose entries are listed. */
+    public static MenuChangedEvent of(List<MenuChange> changes) {
+        Set<Long> restaurantIds = new LinkedHashSet<>();
+        changes.forEach(change -> restaurantIds.add(change.restaurantId()));
+        return new MenuChangedEvent(restaurantIds, false, changes);
+    }
+
+    public static MenuChangedEvent remote(Set<Long> restaurantIds) {
+        return new MenuChangedEvent(restaurantIds, true, List.of());
+    }
+}
@@ -0,0 +1,18 @@
+package com.safemenu.api.importer;
+
+import java.util.List;
+
+/**
+ * Writes one chunk of the ingredient catalog import — ingredient rows and their
+ * {@code ingredient_allergens} rows — inside the caller's transaction.
+ */
+public interface IngredientChunkWriter {
+
+    /**
+     * Next value of {@code ingredients_seq}. Like Hibernate's pooled optimizer, the value
+     * {@code v} reserves ids {@code v - 49 .. v}.
+     */
+    long nextIdBlock();
+
+    void write(List<IngredientImportRow> inserts, List<IngredientImportRow> updates);
+}
@@ -0,0 +1,95 @@
+package com.safemenu.api.importer;
+
+import com.safemenu.api.dto.response.BulkImportResponse;
+import com.safemenu.api.dto.response.ImportJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one catalog import. Counters are written by the import thread and read
+ * by status requests, so every field is safe to publish across threads.
+ */
+public class IngredientImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private static final int MAX_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<BulkImportResponse.RowError> errors = new ArrayList<>();
+
+    final AtomicLong rowsRead = new AtomicLong();
+    final AtomicLong inserted = new AtomicLong();
+    final AtomicLong updated = new AtomicLong();
+    final AtomicLong unchanged = new AtomicLong();
+    final AtomicLong duplicates = new AtomicLong();
+    final AtomicLong rejected = new AtomicLong();
+    final AtomicLong dishesUpdated = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String failure;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failure = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    /** Counts a rejected row; only the first {@value #MAX_ERRORS} are kept for the report. */
+    void reject(long lineNumber, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new BulkImportResponse.RowError((int) lineNumber, message));
+            }
+        }
+    }
+
+    public ImportJobResponse toResponse() {
+        List<BulkImportResponse.RowError> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        return ImportJobResponse.builder()
+                .jobId(id)
+                .status(status.name())
+                .rowsRead(rowsRead.get())
+                .inserted(inserted.get())
+                .updated(updated.get())
+                .unchanged(unchanged.get())
+                .duplicates(duplicates.get())
+                .rejected(rejected.get())
+                .dishesUpdated(dishesUpdated.get())
+                .errors(errorsCopy)
+                .failure(failure)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
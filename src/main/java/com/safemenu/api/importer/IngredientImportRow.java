@@ -0,0 +1,13 @@
+package com.safemenu.api.importer;
+
+import com.safemenu.api.enums.AllergenType;
+
+import java.util.Set;
+
+/**
+ * One de-duplicated catalog row, resolved against the database: {@code id} is either the
+ * existing ingredient's id or a freshly allocated one.
+ */
+public record IngredientImportRow(long id, String name, String description,
+                                  Set<AllergenType> allergens, int allergenMask) {
+}
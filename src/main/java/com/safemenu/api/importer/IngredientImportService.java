@@ -0,0 +1,392 @@
+package com.safemenu.api.importer;
+
+import com.safemenu.api.dto.response.ImportJobResponse;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.IngredientChangedEvent;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog-scale ingredient import from CSV ({@code name,description,allergens}).
+ *
+ * The upload is spooled to a temporary file and processed on a background thread, so
+ * the request returns at once with a job to poll. Rows are streamed, never held in full:
+ * each chunk is matched against existing ingredients by case-insensitive name with one
+ * query on the indexed {@code name_key} column — names lower-cased by the database, as the
+ * column is — then written in its own transaction
+ * through an {@link IngredientChunkWriter} (COPY on PostgreSQL, JDBC batches elsewhere). In that same transaction the allergen
+ * masks of dishes using an ingredient whose allergens changed are recomputed and a
+ * {@link MenuChangedEvent} announces them, so a committed chunk never leaves a dish
+ * mask behind its ingredients.
+ *
+ * Jobs are tracked in memory on the node that accepted the upload.
+ */
+@Slf4j
+@Service
+public class IngredientImportService {
+
+    /** Ids reserved per sequence value — the increment of {@code ingredients_seq}. */
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final int MAX_JOBS = 100;
+    private static final int DISH_CHUNK = 1000;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final Pattern ALLERGEN_SEPARATOR = Pattern.compile("[;|]");
+
+    private final IngredientChunkWriter chunkWriter;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTx;
+    private final int chunkSize;
+
+    private final Map<String, IngredientImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IngredientImportJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    };
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ingredient-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IngredientImportService(IngredientChunkWriter chunkWriter, NamedParameterJdbcTemplate jdbcTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${safemenu.import.chunk-size:1000}") int chunkSize) {
+        this.chunkWriter = chunkWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Spools the upload and queues it; imports run one at a time in arrival order. */
+    public ImportJobResponse start(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Path spool;
+        try {
+            spool = Files.createTempFile("ingredient-import-", ".csv");
+            file.transferTo(spool);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spool ingredient import", e);
+        }
+
+        IngredientImportJob job = new IngredientImportJob();
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        executor.execute(() -> run(job, spool));
+        return job.toResponse();
+    }
+
+    public ImportJobResponse findJob(String jobId) {
+        IngredientImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Ingredient import job not found with id: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void run(IngredientImportJob job, Path spool) {
+        job.start();
+        ImportRun run = new ImportRun(job);
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(spool, StandardCharsets.UTF_8))) {
+            run.read(reader);
+            job.complete();
+        } catch (Exception e) {
+            log.warn("Ingredient import {} failed after {} rows", job.getId(), job.rowsRead.get(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool {}", spool, e);
+            }
+        }
+    }
+
+    /**
+     * Recomputes, in the caller's transaction, the masks of dishes using re-tagged ingredients
+     * from all of their ingredients, and announces those dishes.
+     *
+     * @return number of dishes announced
+     */
+    private int refreshDishes(List<Long> ingredientIds) {
+        Map<Long, AffectedDish> dishes = new LinkedHashMap<>();
+        for (int from = 0; from < ingredientIds.size(); from += DISH_CHUNK) {
+            jdbcTemplate.query("""
+                            SELECT d.id, c.restaurant_id, d.allergen_mask, i.allergen_mask AS ingredient_mask
+                            FROM dishes d
+                            JOIN menu_categories c ON c.id = d.category_id
+                            JOIN dish_ingredients di ON di.dish_id = d.id
+                            JOIN ingredients i ON i.id = di.ingredient_id
+                            WHERE d.id IN (SELECT dish_id FROM dish_ingredients WHERE ingredient_id IN (:ids))
+                            """,
+                    Map.of("ids", ingredientIds.subList(from, Math.min(from + DISH_CHUNK, ingredientIds.size()))),
+                    rs -> {
+                        AffectedDish dish = dishes.get(rs.getLong("id"));
+                        if (dish == null) {
+                            dish = new AffectedDish(rs.getLong("restaurant_id"), rs.getInt("allergen_mask"));
+                            dishes.put(rs.getLong("id"), dish);
+                        }
+                        dish.mask |= rs.getInt("ingredient_mask");
+                    });
+        }
+        if (dishes.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> maskUpdates = new ArrayList<>();
+        List<MenuChange> changes = new ArrayList<>(dishes.size());
+        dishes.forEach((id, dish) -> {
+            if (dish.mask != dish.storedMask) {
+                maskUpdates.add(new Object[]{dish.mask, id});
+            }
+            changes.add(MenuChange.upsert(dish.restaurantId, MenuEntityType.DISH, id));
+        });
+        if (!maskUpdates.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "UPDATE dishes SET allergen_mask = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?", maskUpdates);
+        }
+        eventPublisher.publishEvent(MenuChangedEvent.of(changes));
+        return changes.size();
+    }
+
+    /** A dish using a re-tagged ingredient; {@code mask} accumulates its ingredients' allergens. */
+    private static final class AffectedDish {
+
+        private final long restaurantId;
+        private final int storedMask;
+        private int mask;
+
+        private AffectedDish(long restaurantId, int storedMask) {
+            this.restaurantId = restaurantId;
+            this.storedMask = storedMask;
+        }
+    }
+
+    private record ParsedRow(String name, String description, Set<AllergenType> allergens) {
+    }
+
+    private record ExistingIngredient(long id, String description, int allergenMask) {
+    }
+
+    /** State of one job while it runs: column layout and id block. */
+    private final class ImportRun {
+
+        private final IngredientImportJob job;
+        private int nameColumn = -1;
+        private int descriptionColumn = -1;
+        private int allergensColumn = -1;
+        private long nextId;
+        private long lastId = -1;
+
+        private ImportRun(IngredientImportJob job) {
+            this.job = job;
+        }
+
+        void read(CsvReader reader) throws IOException {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file has no header row");
+            }
+            readHeader(header);
+
+            List<ParsedRow> chunk = new ArrayList<>();
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                ParsedRow row = parse(reader.lineNumber(), record);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk);
+        }
+
+        private void readHeader(List<String> header) {
+            for (int i = 0; i < header.size(); i++) {
+                switch (header.get(i).strip().toLowerCase(Locale.ROOT)) {
+                    case "name" -> nameColumn = i;
+                    case "description" -> descriptionColumn = i;
+                    case "allergens" -> allergensColumn = i;
+                    default -> { }
+                }
+            }
+            if (nameColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain a 'name' column");
+            }
+        }
+
+        /** Validated row, or {@code null} after recording why it was rejected. */
+        private ParsedRow parse(long line, List<String> record) {
+            String name = column(record, nameColumn);
+            if (name == null) {
+                job.reject(line, "name: must not be blank");
+                return null;
+            }
+            if (name.length() > MAX_NAME_LENGTH) {
+                job.reject(line, "name: size must be between 0 and " + MAX_NAME_LENGTH);
+                return null;
+            }
+            String description = column(record, descriptionColumn);
+            if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+                job.reject(line, "description: size must be between 0 and " + MAX_DESCRIPTION_LENGTH);
+                return null;
+            }
+
+            Set<AllergenType> allergens = EnumSet.noneOf(AllergenType.class);
+            String tags = column(record, allergensColumn);
+            if (tags != null) {
+                for (String tag : ALLERGEN_SEPARATOR.split(tags)) {
+                    String value = tag.strip().toUpperCase(Locale.ROOT).replace(' ', '_');
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        allergens.add(AllergenType.valueOf(value));
+                    } catch (IllegalArgumentException e) {
+                        job.reject(line, "Unknown allergen: " + tag.strip());
+                        return null;
+                    }
+                }
+            }
+            return new ParsedRow(name, description, allergens);
+        }
+
+        private String column(List<String> record, int index) {
+            if (index < 0 || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Upserts {@code rows} in one transaction. The database lower-cases the names in the
+         * same query that finds the existing rows, so a name is keyed exactly as {@code name_key}
+         * is generated — Java's lower-casing can differ for non-ASCII names.
+         */
+        private void writeChunk(List<ParsedRow> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            writeTx.executeWithoutResult(status -> {
+                Map<String, String> keys = new HashMap<>();
+                Map<String, ExistingIngredient> existing = new HashMap<>();
+                jdbcTemplate.query("""
+                                SELECT n.raw_name, LOWER(n.raw_name) AS name_key, i.id, i.description, i.allergen_mask
+                                FROM (VALUES :names) AS n(raw_name)
+                                LEFT JOIN ingredients i ON i.name_key = LOWER(n.raw_name)
+                                """,
+                        Map.of("names", rows.stream().map(ParsedRow::name).distinct()
+                                .map(name -> new Object[] {name})
+                                .toList()),
+                        rs -> {
+                            String key = rs.getString("name_key");
+                            keys.put(rs.getString("raw_name"), key);
+                            long id = rs.getLong("id");
+                            if (!rs.wasNull()) {
+                                existing.put(key, new ExistingIngredient(
+                                        id, rs.getString("description"), rs.getInt("allergen_mask")));
+                            }
+                        });
+
+                Map<String, ParsedRow> chunk = new LinkedHashMap<>();
+                for (ParsedRow row : rows) {
+                    if (chunk.put(keys.get(row.name()), row) != null) {
+                        job.duplicates.incrementAndGet();
+                    }
+                }
+
+                List<IngredientImportRow> inserts = new ArrayList<>();
+                List<IngredientImportRow> updates = new ArrayList<>();
+                List<Long> retagged = new ArrayList<>();
+                for (Map.Entry<String, ParsedRow> entry : chunk.entrySet()) {
+                    ParsedRow row = entry.getValue();
+                    int mask = AllergenType.toMask(row.allergens());
+                    ExistingIngredient current = existing.get(entry.getKey());
+                    if (current == null) {
+                        inserts.add(new IngredientImportRow(allocateId(), row.name(), row.description(), row.allergens(), mask));
+                    } else if (current.allergenMask() != mask || !Objects.equals(current.description(), row.description())) {
+                        updates.add(new IngredientImportRow(current.id(), row.name(), row.description(), row.allergens(), mask));
+                        if (current.allergenMask() != mask) {
+                            retagged.add(current.id());
+                        }
+                    } else {
+                        job.unchanged.incrementAndGet();
+                    }
+                }
+
+                chunkWriter.write(inserts, updates);
+                if (!inserts.isEmpty()) {
+                    eventPublisher.publishEvent(new IngredientChangedEvent(inserts.stream()
+                            .map(IngredientImportRow::id)
+                            .collect(Collectors.toSet())));
+                }
+                if (!retagged.isEmpty()) {
+                    job.dishesUpdated.addAndGet(refreshDishes(retagged));
+                }
+                job.inserted.addAndGet(inserts.size());
+                job.updated.addAndGet(updates.size());
+            });
+        }
+
+        /** Hands out ids from blocks of {@code ingredients_seq}, as Hibernate's pooled optimizer does. */
+        private long allocateId() {
+            if (nextId > lastId) {
+                lastId = chunkWriter.nextIdBlock();
+                nextId = lastId - ID_BLOCK_SIZE + 1;
+            }
+            return nextId++;
+        }
+    }
+}
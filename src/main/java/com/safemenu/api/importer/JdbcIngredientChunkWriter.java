@@ -0,0 +1,62 @@
+package com.safemenu.api.importer;
+
+import com.safemenu.api.enums.AllergenType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chunk writer using JDBC batch statements — H2 and any database without a bulk-load path.
+ */
+@Component
+@Profile("!docker")
+@RequiredArgsConstructor
+public class JdbcIngredientChunkWriter implements IngredientChunkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long nextIdBlock() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR ingredients_seq", Long.class);
+    }
+
+    @Override
+    public void write(List<IngredientImportRow> inserts, List<IngredientImportRow> updates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO ingredients (id, name, description, allergen_mask, created_at) VALUES (?, ?, ?, ?, ?)",
+                    inserts.stream()
+                            .map(row -> new Object[]{row.id(), row.name(), row.description(), row.allergenMask(), now})
+                            .toList());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE ingredients SET description = ?, allergen_mask = ?, updated_at = ? WHERE id = ?",
+                    updates.stream()
+                            .map(row -> new Object[]{row.description(), row.allergenMask(), now, row.id()})
+                            .toList());
+            jdbcTemplate.batchUpdate("DELETE FROM ingredient_allergens WHERE ingredient_id = ?",
+                    updates.stream().map(row -> new Object[]{row.id()}).toList());
+        }
+
+        List<Object[]> allergenRows = new ArrayList<>();
+        for (List<IngredientImportRow> rows : List.of(inserts, updates)) {
+            for (IngredientImportRow row : rows) {
+                for (AllergenType allergen : row.allergens()) {
+                    allergenRows.add(new Object[]{row.id(), allergen.name()});
+                }
+            }
+        }
+        if (!allergenRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO ingredient_allergens (ingredient_id, allergen) VALUES (?, ?)",
+                    allergenRows);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.safemenu.api.importer;
+
+import com.safemenu.api.enums.AllergenType;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Chunk writer for PostgreSQL: the chunk is streamed with {@code COPY} into a temporary
+ * staging table, then applied to {@code ingredients} and {@code ingredient_allergens}
+ * with a handful of set-based statements instead of one statement per row.
+ */
+@Component
+@Profile("docker")
+@RequiredArgsConstructor
+public class PostgresCopyIngredientChunkWriter implements IngredientChunkWriter {
+
+    private static final String CREATE_STAGE = """
+            CREATE TEMP TABLE IF NOT EXISTS ingredient_import_stage (
+                id            BIGINT NOT NULL,
+                is_new        BOOLEAN NOT NULL,
+                name          VARCHAR(255) NOT NULL,
+                description   VARCHAR(500),
+                allergen_mask INTEGER NOT NULL,
+                allergens     TEXT NOT NULL
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_STAGE = """
+            COPY ingredient_import_stage (id, is_new, name, description, allergen_mask, allergens)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Override
+    public long nextIdBlock() {
+        return jdbcTemplate.queryForObject("SELECT nextval('ingredients_seq')", Long.class);
+    }
+
+    @Override
+    public void write(List<IngredientImportRow> inserts, List<IngredientImportRow> updates) {
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_STAGE);
+        copy(inserts, updates);
+
+        jdbcTemplate.update("""
+                INSERT INTO ingredients (id, name, description, allergen_mask, created_at)
+                SELECT id, name, description, allergen_mask, now()
+                FROM ingredient_import_stage WHERE is_new
+                """);
+        jdbcTemplate.update("""
+                UPDATE ingredients i
+                SET description = s.description, allergen_mask = s.allergen_mask, updated_at = now()
+                FROM ingredient_import_stage s
+                WHERE s.id = i.id AND NOT s.is_new
+                """);
+        jdbcTemplate.update("""
+                DELETE FROM ingredient_allergens a
+                USING ingredient_import_stage s
+                WHERE a.ingredient_id = s.id AND NOT s.is_new
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO ingredient_allergens (ingredient_id, allergen)
+                SELECT s.id, allergen
+                FROM ingredient_import_stage s,
+                     unnest(string_to_array(NULLIF(s.allergens, ''), ';')) AS allergen
+                """);
+        jdbcTemplate.execute("TRUNCATE ingredient_import_stage");
+    }
+
+    /** Streams both lists into the staging table over the transaction's own connection. */
+    private void copy(List<IngredientImportRow> inserts, List<IngredientImportRow> updates) {
+        StringBuilder csv = new StringBuilder();
+        inserts.forEach(row -> appendRow(csv, row, true));
+        updates.forEach(row -> appendRow(csv, row, false));
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_STAGE, new StringReader(csv.toString()));
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into ingredient_import_stage failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void appendRow(StringBuilder csv, IngredientImportRow row, boolean isNew) {
+        csv.append(row.id()).append(',')
+                .append(isNew).append(',')
+                .append(quote(row.name())).append(',')
+                .append(row.description() == null ? "" : quote(row.description())).append(',')
+                .append(row.allergenMask()).append(',')
+                .append(quote(row.allergens().stream().map(AllergenType::name).collect(Collectors.joining(";"))))
+                .append('\n');
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
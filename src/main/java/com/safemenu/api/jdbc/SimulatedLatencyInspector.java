@@ -0,0 +1,28 @@
+package com.safemenu.api.jdbc;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delays every statement Hibernate prepares by a fixed amount while its connection is held,
+ * to reproduce a slow database in load tests. Enabled by {@code safemenu.db.simulated-latency}.
+ */
+public class SimulatedLatencyInspector implements StatementInspector {
+
+    private final long delayNanos;
+
+    public SimulatedLatencyInspector(Duration delay) {
+        this.delayNanos = delay.toNanos();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long deadline = System.nanoTime() + delayNanos;
+        for (long remaining = delayNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+        return sql;
+    }
+}
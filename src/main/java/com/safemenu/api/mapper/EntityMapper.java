@@ -1,23 +1,30 @@
 package com.safemenu.api.mapper;
 
+import com.safemenu.api.dto.projection.DishIngredientRow;
+import com.safemenu.api.dto.projection.DishRow;
 import com.safemenu.api.dto.response.*;
 import com.safemenu.api.entity.*;
+import com.safemenu.api.enums.AllergenSets;
 import com.safemenu.api.enums.AllergenType;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class EntityMapper {
 
-    // ── Restaurant ──────────────────────────────────────────
+    private final IngredientResponseRegistry ingredientResponses;
 
-    public RestaurantResponse toRestaurantResponse(Restaurant entity) {
-        int dishCount = entity.getCategories().stream()
-                .mapToInt(c -> c.getDishes().size())
-                .sum();
+    // ── Restaurant ──────────────────────────────────────────
 
+    /**
+     * Counts come from grouped aggregate queries — never from walking
+     * the lazy category and dish collections.
+     */
+    public RestaurantResponse toRestaurantResponse(Restaurant entity, int categoryCount, int dishCount) {
         return RestaurantResponse.builder()
                 .id(entity.getId())
                 .name(entity.getName())
@@ -26,7 +33,7 @@ public class EntityMapper {
                 .email(entity.getEmail())
                 .description(entity.getDescription())
                 .active(entity.isActive())
-                .categoryCount(entity.getCategories().size())
+                .categoryCount(categoryCount)
                 .dishCount(dishCount)
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
@@ -35,7 +42,7 @@ public class EntityMapper {
 
     // ── Category ────────────────────────────────────────────
 
-    public CategoryResponse toCategoryResponse(MenuCategory entity) {
+    public CategoryResponse toCategoryResponse(MenuCategory entity, int dishCount) {
         return CategoryResponse.builder()
                 .id(entity.getId())
                 .name(entity.getName())
@@ -43,7 +50,7 @@ public class EntityMapper {
                 .displayOrder(entity.getDisplayOrder())
                 .restaurantId(entity.getRestaurant().getId())
                 .restaurantName(entity.getRestaurant().getName())
-                .dishCount(entity.getDishes().size())
+                .dishCount(dishCount)
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
@@ -55,17 +62,35 @@ public class EntityMapper {
                 .id(entity.getId())
                 .name(entity.getName())
                 .description(entity.getDescription())
-                .allergens(entity.getAllergens())
+                .allergens(AllergenSets.allergens(entity.getAllergenMask()))
                 .build();
     }
 
+    /**
+     * Ingredients of dishes are shared: the same response for every dish made with
+     * the same version of the ingredient.
+     */
+    public IngredientResponse toSharedIngredientResponse(Ingredient entity) {
+        return ingredientResponses.get(entity.getId(), entity.getUpdatedAt(), () -> toIngredientResponse(entity));
+    }
+
+    /** Always shared — rows only come from dish reads. */
+    public IngredientResponse toIngredientResponse(DishIngredientRow row) {
+        return ingredientResponses.get(row.ingredientId(), row.updatedAt(), () -> IngredientResponse.builder()
+                .id(row.ingredientId())
+                .name(row.name())
+                .description(row.description())
+                .allergens(AllergenSets.allergens(row.allergenMask()))
+                .build());
+    }
+
     // ── Dish ────────────────────────────────────────────────
 
     public DishResponse toDishResponse(Dish entity) {
         Set<AllergenType> allergens = entity.getComputedAllergens();
 
         Set<IngredientResponse> ingredientResponses = entity.getIngredients().stream()
-                .map(this::toIngredientResponse)
+                .map(this::toSharedIngredientResponse)
                 .collect(Collectors.toSet());
 
         return DishResponse.builder()
@@ -78,24 +103,30 @@ public class EntityMapper {
                 .vegan(entity.isVegan())
                 .categoryName(entity.getCategory().getName())
                 .categoryId(entity.getCategory().getId())
+                .categoryDisplayOrder(entity.getCategory().getDisplayOrder())
                 .ingredients(ingredientResponses)
                 .allergens(allergens)
-                .allergenWarning(buildAllergenWarning(allergens))
+                .allergenWarning(AllergenSets.warning(entity.getAllergenMask()))
                 .build();
     }
 
-    /**
-     * Generates a human-readable allergen warning string.
-     * E.g. "⚠ Contains: Milk, Eggs, Cereals containing gluten"
-     */
-    private String buildAllergenWarning(Set<AllergenType> allergens) {
-        if (allergens.isEmpty()) {
-            return "No known allergens";
-        }
-        String list = allergens.stream()
-                .map(AllergenType::getDisplayName)
-                .sorted()
-                .collect(Collectors.joining(", "));
-        return "⚠ Contains: " + list;
+    public DishResponse toDishResponse(DishRow row, Set<IngredientResponse> ingredients) {
+        Set<AllergenType> allergens = AllergenSets.allergens(row.allergenMask());
+
+        return DishResponse.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .price(row.price())
+                .available(row.available())
+                .vegetarian(row.vegetarian())
+                .vegan(row.vegan())
+                .categoryName(row.categoryName())
+                .categoryId(row.categoryId())
+                .categoryDisplayOrder(row.categoryDisplayOrder())
+                .ingredients(ingredients)
+                .allergens(allergens)
+                .allergenWarning(AllergenSets.warning(row.allergenMask()))
+                .build();
     }
 }
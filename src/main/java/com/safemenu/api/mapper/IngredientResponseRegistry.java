@@ -0,0 +1,56 @@
+package com.safemenu.api.mapper;
+
+import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.event.IngredientChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Canonical {@link IngredientResponse} per ingredient, keyed by id and versioned by the
+ * ingredient's {@code updatedAt}. The same ingredient appears in many dishes of a menu;
+ * dish mappings take the shared instance instead of building one per dish, so cached
+ * menus hold each ingredient once.
+ *
+ * A lookup with a newer version replaces the entry, which also covers writes this node
+ * never saw an event for (another instance, the bulk importer — both bump
+ * {@code updated_at}). An older version never displaces a newer one. Entries are dropped
+ * when {@link com.safemenu.api.service.IngredientService} writes, so deleted ingredients
+ * do not linger.
+ */
+@Component
+public class IngredientResponseRegistry {
+
+    private static final Comparator<LocalDateTime> VERSION_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /** The shared response for this version of the ingredient, built by {@code factory} on a miss. */
+    public IngredientResponse get(Long id, LocalDateTime updatedAt, Supplier<IngredientResponse> factory) {
+        Entry entry = entries.get(id);
+        if (entry == null || VERSION_ORDER.compare(entry.updatedAt(), updatedAt) < 0) {
+            entry = entries.compute(id, (key, current) ->
+                    current != null && VERSION_ORDER.compare(current.updatedAt(), updatedAt) >= 0
+                            ? current
+                            : new Entry(updatedAt, factory.get()));
+        }
+        return entry.response();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientsChanged(IngredientChangedEvent event) {
+        event.ingredientIds().forEach(entries::remove);
+    }
+
+    private record Entry(LocalDateTime updatedAt, IngredientResponse response) {
+    }
+}
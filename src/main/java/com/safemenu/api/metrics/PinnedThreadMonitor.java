@@ -0,0 +1,79 @@
+package com.safemenu.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events while running on virtual threads: a virtual
+ * thread that blocks inside {@code synchronized} (typically in a JDBC driver) or a native frame
+ * holds on to its carrier thread. Each pin longer than the threshold is counted and timed as
+ * {@code safemenu.jvm.threads.pinned} and logged with the first application frames below it.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recording;
+    private final Counter pins;
+    private final Timer pinnedTime;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry,
+                               @Value("${safemenu.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.pins = Counter.builder("safemenu.jvm.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("safemenu.jvm.threads.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned")
+                .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pins.increment();
+        pinnedTime.record(event.getDuration());
+        if (log.isWarnEnabled()) {
+            List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+            log.warn("Virtual thread {} pinned for {}ms at {}",
+                    event.getThread() != null ? event.getThread().getJavaName() : "?",
+                    event.getDuration().toMillis(),
+                    frames.stream()
+                            .dropWhile(PinnedThreadMonitor::isJdkFrame)
+                            .limit(LOGGED_FRAMES)
+                            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                    + ":" + frame.getLineNumber())
+                            .collect(Collectors.joining(" <- ")));
+        }
+    }
+
+    /** The parking frames on top say nothing about who pinned the thread. */
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.");
+    }
+
+    @PreDestroy
+    void stop() {
+        recording.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.safemenu.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many SQL statements each request caused, as the {@code safemenu.http.jdbc.statements}
+ * distribution tagged with the same {@code method} and {@code uri} as {@code http.server.requests}
+ * — an N+1 regression shows up as a jump on one route. Each route's summary is registered on its
+ * first request and reused after that.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "safemenu.http.jdbc.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Route, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = RequestStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            summaries.computeIfAbsent(new Route(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN"),
+                            this::summary)
+                    .record(statements);
+        }
+    }
+
+    private DistributionSummary summary(Route route) {
+        return DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements prepared by Hibernate per HTTP request")
+                .baseUnit("statements")
+                .tags("method", route.method(), "uri", route.uri())
+                .register(meterRegistry);
+    }
+
+    private record Route(String method, String uri) {
+    }
+}
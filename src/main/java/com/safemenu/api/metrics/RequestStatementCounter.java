@@ -0,0 +1,37 @@
+package com.safemenu.api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request is
+ * being handled (see {@link RequestMetricsFilter}). Plugged in as Hibernate's
+ * {@link StatementInspector}; the SQL itself is passed through untouched.
+ *
+ * Statements issued through {@code JdbcTemplate} bypass Hibernate and are not counted.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = STATEMENTS.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    /** Stops counting on this thread and returns the statements seen since {@link #start()}. */
+    static int stop() {
+        int[] count = STATEMENTS.get();
+        STATEMENTS.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.safemenu.api.repository;
+
+import com.safemenu.api.dto.projection.DishIngredientRow;
+import com.safemenu.api.dto.projection.DishRow;
+import com.safemenu.api.entity.Dish;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read model for menu endpoints: flat projections instead of managed {@link Dish} entities.
+ * Dish rows and their ingredient rows are fetched separately and assembled by
+ * {@link com.safemenu.api.service.DishReadModel}.
+ */
+@Repository
+public interface DishReadRepository extends org.springframework.data.repository.Repository<Dish, Long> {
+
+    String DISH_ROW = """
+            SELECT new com.safemenu.api.dto.projection.DishRow(
+                d.id, d.name, d.description, d.price, d.available, d.vegetarian, d.vegan,
+                c.id, c.name, c.displayOrder, d.allergenMask)
+            FROM Dish d
+            JOIN d.category c
+            """;
+
+    /** Seek predicate and order for {@code (category display_order, dish id)} cursors. */
+    String AFTER_CURSOR = """
+             AND (c.displayOrder > :displayOrder OR (c.displayOrder = :displayOrder AND d.id > :dishId))
+            ORDER BY c.displayOrder, d.id
+            """;
+
+    /** Rows the JDBC driver fetches per round trip when streaming an export. */
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Query(DISH_ROW + "WHERE d.id = :id")
+    Optional<DishRow> findRowById(@Param("id") Long id);
+
+    @Query(DISH_ROW + "WHERE d.id IN :ids ORDER BY d.id")
+    List<DishRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of a category: the dishes after {@code (displayOrder, dishId)} in menu
+     * order. Only {@link Pageable#getPageSize()} is used — there is no offset and no count.
+     */
+    @Query(DISH_ROW + "WHERE c.id = :categoryId" + AFTER_CURSOR)
+    List<DishRow> findRowsByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                            @Param("displayOrder") int displayOrder,
+                                            @Param("dishId") long dishId,
+                                            Pageable limit);
+
+    /** Keyset page of a restaurant's menu, as {@link #findRowsByCategoryIdAfter}. */
+    @Query(DISH_ROW + "WHERE c.restaurant.id = :restaurantId" + AFTER_CURSOR)
+    List<DishRow> findRowsByRestaurantIdAfter(@Param("restaurantId") Long restaurantId,
+                                              @Param("displayOrder") int displayOrder,
+                                              @Param("dishId") long dishId,
+                                              Pageable limit);
+
+    /** Whole menu of a restaurant in display order. */
+    @Query(DISH_ROW + "WHERE c.restaurant.id = :restaurantId ORDER BY c.displayOrder, d.id")
+    List<DishRow> findMenuRowsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    /**
+     * Whole menu of a restaurant in display order, read through a forward-only cursor.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DISH_ROW + "WHERE c.restaurant.id = :restaurantId ORDER BY c.displayOrder, d.id")
+    Stream<DishRow> streamMenuRowsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("""
+            SELECT new com.safemenu.api.dto.projection.DishIngredientRow(
+                d.id, i.id, i.name, i.description, i.allergenMask, i.updatedAt)
+            FROM Dish d
+            JOIN d.ingredients i
+            WHERE d.id IN :dishIds
+            """)
+    List<DishIngredientRow> findIngredientRows(@Param("dishIds") Collection<Long> dishIds);
+}
@@ -1,50 +1,74 @@
 package com.safemenu.api.repository;
 
+import com.safemenu.api.dto.projection.CountRow;
+import com.safemenu.api.dto.projection.DishAllergenRow;
 import com.safemenu.api.entity.Dish;
-import com.safemenu.api.enums.AllergenType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 @Repository
 public interface DishRepository extends JpaRepository<Dish, Long> {
 
     List<Dish> findByCategoryId(Long categoryId);
 
+    /** Entity page with each dish's category, which the mapper reads; the read-model benchmark's baseline. */
+    @EntityGraph(attributePaths = "category")
     Page<Dish> findByCategoryRestaurantId(Long restaurantId, Pageable pageable);
 
     List<Dish> findByCategoryRestaurantIdAndAvailableTrue(Long restaurantId);
 
-    /**
-     * Find dishes that do NOT contain any of the specified allergens.
-     * This is the key "safe dining" query — e.g. "show me everything without gluten or nuts".
-     */
+    long countByCategoryId(Long categoryId);
+
+    long countByCategoryRestaurantId(Long restaurantId);
+
+    /** Number of dishes per restaurant, for a page of restaurants at once. */
     @Query("""
-            SELECT DISTINCT d FROM Dish d
+            SELECT new com.safemenu.api.dto.projection.CountRow(c.restaurant.id, COUNT(d))
+            FROM Dish d
             JOIN d.category c
-            WHERE c.restaurant.id = :restaurantId
-              AND d.available = true
-              AND d.id NOT IN (
-                  SELECT d2.id FROM Dish d2
-                  JOIN d2.ingredients i
-                  JOIN i.allergens a
-                  WHERE a IN :excludedAllergens
-              )
+            WHERE c.restaurant.id IN :restaurantIds
+            GROUP BY c.restaurant.id
             """)
-    List<Dish> findSafeDishes(
-            @Param("restaurantId") Long restaurantId,
-            @Param("excludedAllergens") Set<AllergenType> excludedAllergens
-    );
+    List<CountRow> countByRestaurantIds(@Param("restaurantIds") Collection<Long> restaurantIds);
 
-    @Query("SELECT d FROM Dish d WHERE d.category.restaurant.id = :restaurantId AND d.vegetarian = true AND d.available = true")
-    List<Dish> findVegetarianDishes(@Param("restaurantId") Long restaurantId);
+    /** Number of dishes per category, for a list of categories at once. */
+    @Query("""
+            SELECT new com.safemenu.api.dto.projection.CountRow(d.category.id, COUNT(d))
+            FROM Dish d
+            WHERE d.category.id IN :categoryIds
+            GROUP BY d.category.id
+            """)
+    List<CountRow> countByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
 
-    @Query("SELECT d FROM Dish d WHERE d.category.restaurant.id = :restaurantId AND d.vegan = true AND d.available = true")
-    List<Dish> findVeganDishes(@Param("restaurantId") Long restaurantId);
+    /** One row per dish of every active restaurant, grouped by restaurant — feeds the allergen index. */
+    @Query("""
+            SELECT new com.safemenu.api.dto.projection.DishAllergenRow(
+                d.id, r.id, r.name, d.available, d.allergenMask)
+            FROM Dish d
+            JOIN d.category c
+            JOIN c.restaurant r
+            WHERE r.active = true
+            ORDER BY r.id, d.id
+            """)
+    List<DishAllergenRow> findAllergenRowsForActiveRestaurants();
+
+    /** The allergen index rows of the given restaurants, if active, in the same order. */
+    @Query("""
+            SELECT new com.safemenu.api.dto.projection.DishAllergenRow(
+                d.id, r.id, r.name, d.available, d.allergenMask)
+            FROM Dish d
+            JOIN d.category c
+            JOIN c.restaurant r
+            WHERE r.active = true AND r.id IN :restaurantIds
+            ORDER BY r.id, d.id
+            """)
+    List<DishAllergenRow> findAllergenRowsForActiveRestaurants(@Param("restaurantIds") Collection<Long> restaurantIds);
 }
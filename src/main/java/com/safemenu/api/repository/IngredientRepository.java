@@ -1,6 +1,7 @@
 package com.safemenu.api.repository;
 
 import com.safemenu.api.entity.Ingredient;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,7 +16,21 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
 
     Optional<Ingredient> findByNameIgnoreCase(String name);
 
-    List<Ingredient> findByNameContainingIgnoreCase(String name);
+    /**
+     * Ranked name lookup for {@link com.safemenu.api.search.DatabaseIngredientSearch}: names
+     * starting with {@code query} first, then names with a space-separated word starting with it,
+     * then the other names containing it. {@code query} is lower-case with LIKE wildcards escaped
+     * by backslash; stored names are matched as written, without collapsing their whitespace.
+     */
+    @Query("""
+            SELECT i.id FROM Ingredient i
+            WHERE lower(i.name) LIKE concat('%', :query, '%') ESCAPE '\\'
+            ORDER BY CASE WHEN lower(i.name) LIKE concat(:query, '%') ESCAPE '\\' THEN 0
+                          WHEN lower(i.name) LIKE concat('% ', :query, '%') ESCAPE '\\' THEN 1
+                          ELSE 2 END,
+                     lower(i.name)
+            """)
+    List<Long> searchIdsByName(@Param("query") String query, Pageable limit);
 
     @Query("SELECT i FROM Ingredient i WHERE i.id IN :ids")
     Set<Ingredient> findByIdIn(@Param("ids") Set<Long> ids);
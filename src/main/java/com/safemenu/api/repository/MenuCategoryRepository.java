@@ -1,13 +1,31 @@
 package com.safemenu.api.repository;
 
+import com.safemenu.api.dto.projection.CountRow;
 import com.safemenu.api.entity.MenuCategory;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory, Long> {
 
+    @EntityGraph(attributePaths = "restaurant")
     List<MenuCategory> findByRestaurantIdOrderByDisplayOrderAsc(Long restaurantId);
+
+    @EntityGraph(attributePaths = "restaurant")
+    List<MenuCategory> findByIdIn(Collection<Long> ids);
+
+    /** Number of categories per restaurant, for a page of restaurants at once. */
+    @Query("""
+            SELECT new com.safemenu.api.dto.projection.CountRow(c.restaurant.id, COUNT(c))
+            FROM MenuCategory c
+            WHERE c.restaurant.id IN :restaurantIds
+            GROUP BY c.restaurant.id
+            """)
+    List<CountRow> countByRestaurantIds(@Param("restaurantIds") Collection<Long> restaurantIds);
 }
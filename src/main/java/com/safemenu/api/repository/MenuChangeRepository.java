@@ -0,0 +1,44 @@
+package com.safemenu.api.repository;
+
+import com.safemenu.api.entity.MenuChangeEntry;
+import com.safemenu.api.enums.MenuEntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MenuChangeRepository extends JpaRepository<MenuChangeEntry, Long> {
+
+    @Query("""
+            SELECT e FROM MenuChangeEntry e
+            WHERE e.restaurantId = :restaurantId
+              AND e.menuVersion > :since AND e.menuVersion <= :upTo
+            ORDER BY e.menuVersion, e.id
+            """)
+    List<MenuChangeEntry> findChanges(@Param("restaurantId") Long restaurantId,
+                                      @Param("since") long since,
+                                      @Param("upTo") long upTo);
+
+    /** Compaction on write: drops the previous entries of entities that are being logged again. */
+    @Modifying
+    @Query("""
+            DELETE FROM MenuChangeEntry e
+            WHERE e.restaurantId = :restaurantId AND e.entityType = :entityType AND e.entityId IN :entityIds
+            """)
+    int deleteEntries(@Param("restaurantId") Long restaurantId,
+                      @Param("entityType") MenuEntityType entityType,
+                      @Param("entityIds") Collection<Long> entityIds);
+
+    @Modifying
+    @Query("""
+            DELETE FROM MenuChangeEntry e
+            WHERE e.changeType = com.safemenu.api.enums.MenuChangeType.DELETE AND e.createdAt < :cutoff
+            """)
+    int deleteTombstonesBefore(@Param("cutoff") LocalDateTime cutoff);
+}
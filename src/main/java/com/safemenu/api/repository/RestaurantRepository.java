@@ -1,15 +1,50 @@
 package com.safemenu.api.repository;
 
 import com.safemenu.api.entity.Restaurant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
-    List<Restaurant> findByActiveTrue();
+    Page<Restaurant> findByActive(boolean active, Pageable pageable);
 
     List<Restaurant> findByNameContainingIgnoreCase(String name);
+
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.menuVersion FROM Restaurant r WHERE r.id = :id")
+    Optional<Long> findMenuVersionById(@Param("id") Long id);
+
+    @Query("SELECT r.menuChangeFloor FROM Restaurant r WHERE r.id = :id")
+    Optional<Long> findMenuChangeFloorById(@Param("id") Long id);
+
+    /** Raises the floor of every restaurant whose tombstones older than {@code cutoff} are about to be purged. */
+    @Modifying
+    @Query("""
+            UPDATE Restaurant r SET r.menuChangeFloor = (
+                SELECT MAX(e.menuVersion) FROM MenuChangeEntry e
+                WHERE e.restaurantId = r.id
+                  AND e.changeType = com.safemenu.api.enums.MenuChangeType.DELETE AND e.createdAt < :cutoff)
+            WHERE EXISTS (
+                SELECT 1 FROM MenuChangeEntry e
+                WHERE e.restaurantId = r.id
+                  AND e.changeType = com.safemenu.api.enums.MenuChangeType.DELETE AND e.createdAt < :cutoff)
+            """)
+    int raiseMenuChangeFloors(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Restaurant r SET r.menuVersion = r.menuVersion + 1 WHERE r.id IN :ids")
+    int incrementMenuVersions(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.safemenu.api.search;
+
+import com.safemenu.api.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Typeahead answered by the database — for instances that should not hold the catalog
+ * in memory. On PostgreSQL the {@code lower(name)} pattern match is served by the
+ * {@code pg_trgm} GIN index from V8; elsewhere it is a scan.
+ *
+ * Ranking follows the in-memory engine with two differences: only a space starts a word
+ * ("oil" ranks "peanut oil" as a word prefix but "peanut-oil" as a substring), and stored
+ * names keep their own whitespace, so a name saved with a double space is not found by the
+ * single-spaced query.
+ */
+@Component
+@ConditionalOnProperty(name = "safemenu.search.engine", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseIngredientSearch implements IngredientSearch {
+
+    private final IngredientRepository ingredientRepository;
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        String key = IngredientSearch.normalize(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        String escaped = key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return ingredientRepository.searchIdsByName(escaped, PageRequest.ofSize(limit));
+    }
+}
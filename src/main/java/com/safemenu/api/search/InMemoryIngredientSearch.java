@@ -0,0 +1,161 @@
+package com.safemenu.api.search;
+
+import com.safemenu.api.config.IngredientSearchProperties;
+import com.safemenu.api.event.IngredientChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process typeahead over every ingredient name.
+ *
+ * Lookups hit an immutable {@link IngredientNameIndex} plus a small overlay of the
+ * ingredients written since it was built: an overlay entry hides the indexed copy of
+ * its ingredient and is matched by a linear scan. Once the overlay grows past
+ * {@code rebuild-threshold}, or every {@code refresh-interval}, the index is rebuilt
+ * in the background and swapped in; overlay entries recorded before the rebuild began
+ * are then dropped, since the new index already reflects them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "safemenu.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIngredientSearch implements IngredientSearch {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    /** Latest known state of a written ingredient — {@code key == null} once deleted. */
+    private record OverlayEntry(String key, long sequence) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final IngredientSearchProperties properties;
+
+    private final ConcurrentMap<Long, OverlayEntry> overlay = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile IngredientNameIndex index;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ingredient-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InMemoryIngredientSearch(NamedParameterJdbcTemplate jdbcTemplate, IngredientSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        long refreshMillis = properties.getRefreshInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        String key = IngredientSearch.normalize(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        IngredientNameIndex current = index();
+
+        Map<Long, OverlayEntry> pending = Map.copyOf(overlay);
+        List<IngredientNameIndex.Hit> hits = current.search(key, limit, pending::containsKey);
+        for (Map.Entry<Long, OverlayEntry> entry : pending.entrySet()) {
+            String name = entry.getValue().key();
+            int tier = name == null ? -1 : IngredientNameIndex.tierOf(name, key);
+            if (tier >= 0) {
+                hits.add(new IngredientNameIndex.Hit(entry.getKey(), name, tier));
+            }
+        }
+        if (!pending.isEmpty()) {
+            hits.sort(IngredientNameIndex.Hit.RANK);
+        }
+        return hits.stream().limit(limit).map(IngredientNameIndex.Hit::id).toList();
+    }
+
+    /** Re-reads the written ingredients once their transaction has committed. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIngredientsChanged(IngredientChangedEvent event) {
+        // Numbered before the read: of two racing listeners, the later number read newer data
+        long recordedAt = sequence.incrementAndGet();
+        Map<Long, String> names = findNames(List.copyOf(event.ingredientIds()));
+        for (Long id : event.ingredientIds()) {
+            OverlayEntry entry = new OverlayEntry(names.get(id), recordedAt);
+            overlay.merge(id, entry, (current, next) -> next.sequence() > current.sequence() ? next : current);
+        }
+        if (overlay.size() >= properties.getRebuildThreshold() && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(this::refresh);
+        }
+    }
+
+    /** Number of indexed names, for diagnostics. */
+    public int size() {
+        return index().size();
+    }
+
+    private IngredientNameIndex index() {
+        IngredientNameIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private void refresh() {
+        rebuildQueued.set(false);
+        try {
+            synchronized (this) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ingredient search index rebuild failed; keeping the previous index", e);
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = sequence.get();
+        long started = System.nanoTime();
+        List<IngredientNameIndex.Doc> docs = new ArrayList<>();
+        jdbcTemplate.getJdbcTemplate().query("SELECT id, name FROM ingredients", rs -> {
+            docs.add(new IngredientNameIndex.Doc(rs.getLong(1), IngredientSearch.normalize(rs.getString(2))));
+        });
+        index = IngredientNameIndex.build(docs);
+        overlay.values().removeIf(entry -> entry.sequence() <= startedAt);
+        log.debug("Indexed {} ingredient names in {} ms", docs.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Map<Long, String> findNames(List<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            jdbcTemplate.query("SELECT id, name FROM ingredients WHERE id IN (:ids)",
+                    Map.of("ids", ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size()))),
+                    rs -> {
+                        names.put(rs.getLong(1), IngredientSearch.normalize(rs.getString(2)));
+                    });
+        }
+        return names;
+    }
+}
@@ -0,0 +1,223 @@
+package com.safemenu.api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable typeahead index over ingredient names.
+ *
+ * Names are normalised and sorted, and each name's position in that order is its
+ * ordinal, so every structure below is alphabetical for free:
+ * <ul>
+ *   <li>name prefixes — binary search in the sorted names;</li>
+ *   <li>word prefixes — binary search in a sorted array of the name suffixes that start
+ *       at a later word ("oil" for "peanut oil");</li>
+ *   <li>substrings — trigram posting lists of ordinals, walked from the shortest list
+ *       and verified against the name.</li>
+ * </ul>
+ * Each tier stops as soon as {@code limit} hits are found, so a lookup costs a few binary
+ * searches plus work proportional to the limit, whatever the catalog size.
+ */
+final class IngredientNameIndex {
+
+    static final int NAME_PREFIX = 0;
+    static final int WORD_PREFIX = 1;
+    static final int SUBSTRING = 2;
+
+    static final IngredientNameIndex EMPTY = build(List.of());
+
+    /** An indexed name, or an overlay entry to merge with index hits. */
+    record Doc(long id, String key) {
+    }
+
+    /** A match: the tier decides the rank, then the normalised name. */
+    record Hit(long id, String key, int tier) {
+
+        static final Comparator<Hit> RANK = Comparator.comparingInt(Hit::tier).thenComparing(Hit::key);
+    }
+
+    private record WordEntry(String key, int ordinal) {
+    }
+
+    private final long[] ids;
+    private final String[] keys;
+    private final String[] wordKeys;
+    private final int[] wordOrdinals;
+    private final Map<Long, int[]> trigrams;
+
+    private IngredientNameIndex(long[] ids, String[] keys, String[] wordKeys, int[] wordOrdinals,
+                                Map<Long, int[]> trigrams) {
+        this.ids = ids;
+        this.keys = keys;
+        this.wordKeys = wordKeys;
+        this.wordOrdinals = wordOrdinals;
+        this.trigrams = trigrams;
+    }
+
+    /** Builds the index from docs whose keys are already normalised. */
+    static IngredientNameIndex build(Collection<Doc> docs) {
+        Doc[] sorted = docs.toArray(new Doc[0]);
+        Arrays.sort(sorted, Comparator.comparing(Doc::key).thenComparingLong(Doc::id));
+
+        int size = sorted.length;
+        long[] ids = new long[size];
+        String[] keys = new String[size];
+        List<WordEntry> words = new ArrayList<>();
+        Map<Long, IntList> postings = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String key = sorted[ordinal].key();
+            ids[ordinal] = sorted[ordinal].id();
+            keys[ordinal] = key;
+            for (int start = 1; start < key.length(); start++) {
+                if (isWordStart(key, start)) {
+                    words.add(new WordEntry(key.substring(start), ordinal));
+                }
+            }
+            for (int i = 0; i + 3 <= key.length(); i++) {
+                IntList list = postings.computeIfAbsent(trigram(key, i), t -> new IntList());
+                // Ordinals arrive in ascending order, so a repeated trigram ends with this one
+                if (list.size == 0 || list.values[list.size - 1] != ordinal) {
+                    list.add(ordinal);
+                }
+            }
+        }
+
+        words.sort(Comparator.comparing(WordEntry::key).thenComparingInt(WordEntry::ordinal));
+        String[] wordKeys = new String[words.size()];
+        int[] wordOrdinals = new int[words.size()];
+        for (int i = 0; i < words.size(); i++) {
+            wordKeys[i] = words.get(i).key();
+            wordOrdinals[i] = words.get(i).ordinal();
+        }
+        Map<Long, int[]> trigrams = new HashMap<>(postings.size() * 2);
+        postings.forEach((trigram, list) -> trigrams.put(trigram, list.toArray()));
+        return new IngredientNameIndex(ids, keys, wordKeys, wordOrdinals, trigrams);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Best {@code limit} hits for a normalised query, best first, ignoring ids matched
+     * by {@code skip} (entries superseded by the overlay).
+     */
+    List<Hit> search(String query, int limit, LongPredicate skip) {
+        List<Hit> hits = new ArrayList<>(limit);
+        if (query.isEmpty() || limit <= 0) {
+            return hits;
+        }
+
+        for (int i = lowerBound(keys, query); i < keys.length && hits.size() < limit && keys[i].startsWith(query); i++) {
+            if (!skip.test(ids[i])) {
+                hits.add(new Hit(ids[i], keys[i], NAME_PREFIX));
+            }
+        }
+
+        for (int i = lowerBound(wordKeys, query); i < wordKeys.length && hits.size() < limit && wordKeys[i].startsWith(query); i++) {
+            int ordinal = wordOrdinals[i];
+            if (!skip.test(ids[ordinal]) && tierOf(keys[ordinal], query) == WORD_PREFIX && !contains(hits, ids[ordinal])) {
+                hits.add(new Hit(ids[ordinal], keys[ordinal], WORD_PREFIX));
+            }
+        }
+
+        if (hits.size() < limit && query.length() >= 3) {
+            searchSubstrings(query, limit, skip, hits);
+        }
+        return hits;
+    }
+
+    private void searchSubstrings(String query, int limit, LongPredicate skip, List<Hit> hits) {
+        int[] shortest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] list = trigrams.get(trigram(query, i));
+            if (list == null) {
+                return;
+            }
+            if (shortest == null || list.length < shortest.length) {
+                shortest = list;
+            }
+        }
+        for (int ordinal : shortest) {
+            if (hits.size() >= limit) {
+                return;
+            }
+            if (!skip.test(ids[ordinal]) && tierOf(keys[ordinal], query) == SUBSTRING) {
+                hits.add(new Hit(ids[ordinal], keys[ordinal], SUBSTRING));
+            }
+        }
+    }
+
+    /** Tier of {@code key} for {@code query}, or -1 when it does not match at all. */
+    static int tierOf(String key, String query) {
+        if (key.startsWith(query)) {
+            return NAME_PREFIX;
+        }
+        int from = key.indexOf(query, 1);
+        if (from < 0) {
+            return -1;
+        }
+        for (int at = from; at >= 0; at = key.indexOf(query, at + 1)) {
+            if (isWordStart(key, at)) {
+                return WORD_PREFIX;
+            }
+        }
+        return SUBSTRING;
+    }
+
+    private static boolean isWordStart(String key, int index) {
+        return index == 0 || (Character.isLetterOrDigit(key.charAt(index)) && !Character.isLetterOrDigit(key.charAt(index - 1)));
+    }
+
+    private static boolean contains(List<Hit> hits, long id) {
+        for (Hit hit : hits) {
+            if (hit.id() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long trigram(String key, int index) {
+        return ((long) key.charAt(index) << 32) | ((long) key.charAt(index + 1) << 16) | key.charAt(index + 2);
+    }
+
+    /** First index whose key is not less than {@code query}. */
+    private static int lowerBound(String[] sorted, String query) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Growable int array — boxed lists would dominate memory for a large catalog. */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.safemenu.api.search;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ranked ingredient lookup by name for autocomplete: names starting with the query
+ * first, then names with a word starting with it, then names containing it.
+ */
+public interface IngredientSearch {
+
+    /** Ids of the best {@code limit} matches, best first. */
+    List<Long> search(String query, int limit);
+
+    /** Lower-cased, trimmed, single-spaced form used for both names and queries. */
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
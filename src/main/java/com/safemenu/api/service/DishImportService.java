@@ -0,0 +1,164 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.response.BulkImportResponse;
+import com.safemenu.api.entity.Dish;
+import com.safemenu.api.entity.Ingredient;
+import com.safemenu.api.entity.MenuCategory;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.repository.DishRepository;
+import com.safemenu.api.repository.IngredientRepository;
+import com.safemenu.api.repository.MenuCategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk dish creation for onboarding whole menus.
+ *
+ * All referenced categories and ingredients are resolved up front with two set queries,
+ * dishes are inserted in JDBC batches ({@code hibernate.jdbc.batch_size}, made possible by
+ * pooled sequence ids) and detached after each flush, and a single {@link MenuChangedEvent}
+ * covers the whole import. Invalid rows are skipped and reported by index.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DishImportService {
+
+    private final DishRepository dishRepository;
+    private final MenuCategoryRepository categoryRepository;
+    private final IngredientRepository ingredientRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public DishImportService(DishRepository dishRepository, MenuCategoryRepository categoryRepository,
+                             IngredientRepository ingredientRepository, EntityManager entityManager,
+                             Validator validator, ApplicationEventPublisher eventPublisher,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.dishRepository = dishRepository;
+        this.categoryRepository = categoryRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public BulkImportResponse importDishes(List<DishRequest> requests) {
+        Map<Long, MenuCategory> categories = categoryRepository.findByIdIn(requests.stream()
+                        .map(DishRequest::getCategoryId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(MenuCategory::getId, Function.identity()));
+        Map<Long, Ingredient> ingredients = ingredientRepository.findByIdIn(requests.stream()
+                        .filter(request -> request.getIngredientIds() != null)
+                        .flatMap(request -> request.getIngredientIds().stream())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+
+        List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        List<MenuChange> changes = new ArrayList<>();
+        Set<MenuCategory> touchedCategories = new LinkedHashSet<>();
+        List<Dish> batch = new ArrayList<>(batchSize);
+        int imported = 0;
+
+        for (int index = 0; index < requests.size(); index++) {
+            DishRequest request = requests.get(index);
+            String error = validate(request, categories, ingredients);
+            if (error != null) {
+                errors.add(new BulkImportResponse.RowError(index, error));
+                continue;
+            }
+
+            MenuCategory category = categories.get(request.getCategoryId());
+            Dish dish = Dish.builder()
+                    .name(request.getName())
+                    .description(request.getDescription())
+                    .price(request.getPrice())
+                    .vegetarian(request.isVegetarian())
+                    .vegan(request.isVegan())
+                    .category(category)
+                    .ingredients(request.getIngredientIds().stream()
+                            .map(ingredients::get)
+                            .collect(Collectors.toCollection(HashSet::new)))
+                    .build();
+            dish.recomputeAllergenMask();
+            batch.add(dishRepository.save(dish));
+            changes.add(MenuChange.upsert(category.getRestaurant().getId(), MenuEntityType.DISH, dish.getId()));
+            touchedCategories.add(category);
+            imported++;
+
+            if (batch.size() == batchSize) {
+                flush(batch);
+            }
+        }
+        flush(batch);
+
+        if (!changes.isEmpty()) {
+            touchedCategories.forEach(category -> changes.add(
+                    MenuChange.upsert(category.getRestaurant().getId(), MenuEntityType.CATEGORY, category.getId())));
+            eventPublisher.publishEvent(MenuChangedEvent.of(changes));
+        }
+        return BulkImportResponse.builder()
+                .received(requests.size())
+                .imported(imported)
+                .errors(errors)
+                .build();
+    }
+
+    private String validate(DishRequest request, Map<Long, MenuCategory> categories,
+                            Map<Long, Ingredient> ingredients) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<DishRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!categories.containsKey(request.getCategoryId())) {
+            return "MenuCategory not found with id: " + request.getCategoryId();
+        }
+        if (request.getIngredientIds() == null) {
+            return "ingredientIds: must not be null";
+        }
+        List<Long> missing = request.getIngredientIds().stream()
+                .filter(id -> !ingredients.containsKey(id))
+                .sorted()
+                .toList();
+        return missing.isEmpty() ? null : "Ingredients not found with ids: " + missing;
+    }
+
+    /** Sends the pending inserts as JDBC batches and lets go of the written dishes. */
+    private void flush(List<Dish> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        dishRepository.flush();
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
+}
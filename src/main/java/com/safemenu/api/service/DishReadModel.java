@@ -0,0 +1,80 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.projection.DishIngredientRow;
+import com.safemenu.api.dto.projection.DishRow;
+import com.safemenu.api.dto.response.CursorPage;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.repository.DishReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds {@link DishResponse}s straight from projection rows: one query for the dishes
+ * and one for all their ingredients, with allergens decoded from the persisted masks.
+ * Nothing is hydrated into the persistence context, which keeps read-only traffic
+ * free of dirty-checking snapshots.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DishReadModel {
+
+    private final DishReadRepository readRepository;
+    private final EntityMapper mapper;
+
+    public Optional<DishResponse> findById(Long id) {
+        return readRepository.findRowById(id)
+                .map(row -> assemble(List.of(row)).get(0));
+    }
+
+    public List<DishResponse> findByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : assemble(readRepository.findRowsByIds(ids));
+    }
+
+    /** Keyset page of a category; {@code totalElements} is passed through as already counted. */
+    public CursorPage<DishResponse> findByCategory(Long categoryId, MenuCursor after, int size, Long totalElements) {
+        List<DishRow> rows = readRepository.findRowsByCategoryIdAfter(
+                categoryId, after.displayOrder(), after.dishId(), PageRequest.ofSize(size + 1));
+        return MenuCursor.page(assemble(rows), size, totalElements);
+    }
+
+    /** Keyset page of a restaurant's menu; {@code totalElements} is passed through as already counted. */
+    public CursorPage<DishResponse> findByRestaurant(Long restaurantId, MenuCursor after, int size, Long totalElements) {
+        List<DishRow> rows = readRepository.findRowsByRestaurantIdAfter(
+                restaurantId, after.displayOrder(), after.dishId(), PageRequest.ofSize(size + 1));
+        return MenuCursor.page(assemble(rows), size, totalElements);
+    }
+
+    /** Every dish of a restaurant in menu order (category display order, then id). */
+    public List<DishResponse> findMenu(Long restaurantId) {
+        return assemble(readRepository.findMenuRowsByRestaurantId(restaurantId));
+    }
+
+    /** Responses for already-fetched rows, with all their ingredients loaded in one query. */
+    List<DishResponse> assemble(List<DishRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> dishIds = rows.stream().map(DishRow::id).toList();
+        Map<Long, Set<IngredientResponse>> ingredientsByDish = new HashMap<>();
+        for (DishIngredientRow ingredient : readRepository.findIngredientRows(dishIds)) {
+            ingredientsByDish.computeIfAbsent(ingredient.dishId(), id -> new HashSet<>())
+                    .add(mapper.toIngredientResponse(ingredient));
+        }
+        return rows.stream()
+                .map(row -> mapper.toDishResponse(row, ingredientsByDish.getOrDefault(row.id(), Set.of())))
+                .toList();
+    }
+}
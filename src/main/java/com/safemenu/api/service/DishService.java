@@ -1,25 +1,33 @@
 package com.safemenu.api.service;
 
 import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.request.PartySafeDishesRequest;
+import com.safemenu.api.dto.response.CursorPage;
 import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.dto.response.PartySafeDishesResponse;
 import com.safemenu.api.entity.Dish;
 import com.safemenu.api.entity.Ingredient;
 import com.safemenu.api.entity.MenuCategory;
+import com.safemenu.api.enums.AllergenSets;
 import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
 import com.safemenu.api.exception.ResourceNotFoundException;
 import com.safemenu.api.mapper.EntityMapper;
 import com.safemenu.api.repository.DishRepository;
+import com.safemenu.api.snapshot.MenuSnapshot;
+import com.safemenu.api.snapshot.MenuSnapshotRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,27 +35,36 @@ import java.util.stream.Collectors;
 public class DishService {
 
     private final DishRepository dishRepository;
+    private final DishReadModel readModel;
     private final MenuCategoryService categoryService;
     private final IngredientService ingredientService;
     private final EntityMapper mapper;
+    private final MenuSnapshotRegistry snapshotRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DishResponse findById(Long id) {
-        return mapper.toDishResponse(getEntityById(id));
+        return readModel.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Dish", id));
     }
 
-    public List<DishResponse> findByCategory(Long categoryId) {
-        return dishRepository.findByCategoryId(categoryId).stream()
-                .map(mapper::toDishResponse)
-                .toList();
+    public CursorPage<DishResponse> findByCategory(Long categoryId, MenuCursor after, int size, boolean includeTotal) {
+        Long total = includeTotal ? dishRepository.countByCategoryId(categoryId) : null;
+        return readModel.findByCategory(categoryId, after, size, total);
     }
 
     /**
-     * Paginated menu for a restaurant — cached for performance.
+     * Keyset-paginated menu for a restaurant — cached for performance. The count query
+     * only runs when the caller asks for a total.
+     *
+     * {@code menuVersion} is the version the caller read before asking for the page (and
+     * tagged the response with); it keys the cache, so a page read from an older menu is
+     * never served under a newer version.
      */
-    @Cacheable(value = "restaurantMenus", key = "#restaurantId + '-' + #pageable.pageNumber")
-    public Page<DishResponse> findByRestaurant(Long restaurantId, Pageable pageable) {
-        return dishRepository.findByCategoryRestaurantId(restaurantId, pageable)
-                .map(mapper::toDishResponse);
+    @Cacheable(value = "restaurantMenus", key = "T(com.safemenu.api.service.DishService).buildMenuPageCacheKey(#restaurantId, #menuVersion, #after, #size, #includeTotal)")
+    public CursorPage<DishResponse> findByRestaurant(Long restaurantId, long menuVersion, MenuCursor after,
+                                                     int size, boolean includeTotal) {
+        Long total = includeTotal ? dishRepository.countByCategoryRestaurantId(restaurantId) : null;
+        return readModel.findByRestaurant(restaurantId, after, size, total);
     }
 
     /**
@@ -56,28 +73,68 @@ public class DishService {
      *
      * Example: GET /api/v1/dishes/safe?restaurantId=1&exclude=MILK,NUTS
      * → returns all dishes at that restaurant that contain neither milk nor nuts.
+     *
+     * Answered from the restaurant's in-memory {@link MenuSnapshot} (see {@link #menuSnapshot}),
+     * so no transaction or connection is needed once the snapshot is loaded. The cache key
+     * carries the snapshot's menu version.
      */
-    @Cacheable(value = "safeDishes", key = "T(com.safemenu.api.service.DishService).buildSafeDishCacheKey(#restaurantId, #excludedAllergens)")
-    public List<DishResponse> findSafeDishes(Long restaurantId, Set<AllergenType> excludedAllergens) {
-        return dishRepository.findSafeDishes(restaurantId, excludedAllergens).stream()
-                .map(mapper::toDishResponse)
-                .toList();
+    @Cacheable(value = "safeDishes", key = "T(com.safemenu.api.service.DishService).buildSafeDishCacheKey(#snapshot.restaurantId, #snapshot.menuVersion, #excludedAllergens, #after, #size, #includeTotal)")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<DishResponse> findSafeDishes(MenuSnapshot snapshot, Set<AllergenType> excludedAllergens,
+                                                   MenuCursor after, int size, boolean includeTotal) {
+        return after.slice(snapshot.findSafe(AllergenType.toMask(excludedAllergens)), size, includeTotal);
     }
 
-    public List<DishResponse> findVegetarian(Long restaurantId) {
-        return dishRepository.findVegetarianDishes(restaurantId).stream()
-                .map(mapper::toDishResponse)
-                .toList();
+    /**
+     * The restaurant's current menu snapshot. Callers read it once per request and take
+     * both the body and its version (ETag, cache key) from it.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MenuSnapshot menuSnapshot(Long restaurantId) {
+        return snapshotRegistry.get(restaurantId);
     }
 
-    public List<DishResponse> findVegan(Long restaurantId) {
-        return dishRepository.findVeganDishes(restaurantId).stream()
-                .map(mapper::toDishResponse)
-                .toList();
+    /**
+     * Safe dishes for every guest of a dining party in one pass over the restaurant's
+     * {@link com.safemenu.api.snapshot.MenuSnapshot}, rather than one safe-dish lookup per guest.
+     * Not cached: the combinations of guest profiles are too many to be worth keeping.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PartySafeDishesResponse findSafeDishesForParty(PartySafeDishesRequest request) {
+        List<PartySafeDishesRequest.Guest> guests = request.getGuests();
+        int[] excludedMasks = new int[guests.size()];
+        for (int g = 0; g < excludedMasks.length; g++) {
+            excludedMasks[g] = AllergenType.toMask(guests.get(g).getExclude());
+        }
+        MenuSnapshot.PartyMatch match = snapshotRegistry.get(request.getRestaurantId()).matchParty(excludedMasks);
+
+        List<PartySafeDishesResponse.GuestSafeDishes> guestDishes = new ArrayList<>(guests.size());
+        for (int g = 0; g < excludedMasks.length; g++) {
+            guestDishes.add(PartySafeDishesResponse.GuestSafeDishes.builder()
+                    .name(guests.get(g).getName())
+                    .exclude(AllergenType.fromMask(excludedMasks[g]))
+                    .safeDishIds(match.safeDishIdsByGuest().get(g))
+                    .build());
+        }
+        return PartySafeDishesResponse.builder()
+                .restaurantId(request.getRestaurantId())
+                .dishes(match.dishes())
+                .guests(guestDishes)
+                .safeForEveryone(match.safeForEveryone())
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<DishResponse> findVegetarian(MenuSnapshot snapshot, MenuCursor after, int size, boolean includeTotal) {
+        return after.slice(snapshot.findVegetarian(), size, includeTotal);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CursorPage<DishResponse> findVegan(MenuSnapshot snapshot, MenuCursor after, int size, boolean includeTotal) {
+        return after.slice(snapshot.findVegan(), size, includeTotal);
     }
 
     @Transactional
-    @CacheEvict(value = {"restaurantMenus", "safeDishes"}, allEntries = true)
     public DishResponse create(DishRequest request) {
         MenuCategory category = categoryService.getEntityById(request.getCategoryId());
         Set<Ingredient> ingredients = ingredientService.getEntitiesByIds(request.getIngredientIds());
@@ -91,14 +148,20 @@ public class DishService {
                 .category(category)
                 .ingredients(ingredients)
                 .build();
-
-        return mapper.toDishResponse(dishRepository.save(dish));
+        dish.recomputeAllergenMask();
+
+        Dish saved = dishRepository.save(dish);
+        Long restaurantId = restaurantIdOf(category);
+        eventPublisher.publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.upsert(restaurantId, MenuEntityType.DISH, saved.getId()),
+                MenuChange.upsert(restaurantId, MenuEntityType.CATEGORY, category.getId()))));
+        return mapper.toDishResponse(saved);
     }
 
     @Transactional
-    @CacheEvict(value = {"restaurantMenus", "safeDishes"}, allEntries = true)
     public DishResponse update(Long id, DishRequest request) {
         Dish dish = getEntityById(id);
+        MenuCategory previousCategory = dish.getCategory();
         MenuCategory category = categoryService.getEntityById(request.getCategoryId());
         Set<Ingredient> ingredients = ingredientService.getEntitiesByIds(request.getIngredientIds());
 
@@ -109,23 +172,32 @@ public class DishService {
         dish.setVegan(request.isVegan());
         dish.setCategory(category);
         dish.setIngredients(ingredients);
+        dish.recomputeAllergenMask();
 
-        return mapper.toDishResponse(dishRepository.save(dish));
+        Dish saved = dishRepository.save(dish);
+        eventPublisher.publishEvent(MenuChangedEvent.of(movedDishChanges(id, previousCategory, category)));
+        return mapper.toDishResponse(saved);
     }
 
     @Transactional
-    @CacheEvict(value = {"restaurantMenus", "safeDishes"}, allEntries = true)
     public void delete(Long id) {
         Dish dish = getEntityById(id);
+        MenuCategory category = dish.getCategory();
+        Long restaurantId = restaurantIdOf(category);
         dishRepository.delete(dish);
+        eventPublisher.publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.delete(restaurantId, MenuEntityType.DISH, id),
+                MenuChange.upsert(restaurantId, MenuEntityType.CATEGORY, category.getId()))));
     }
 
     @Transactional
-    @CacheEvict(value = {"restaurantMenus", "safeDishes"}, allEntries = true)
     public DishResponse toggleAvailability(Long id) {
         Dish dish = getEntityById(id);
         dish.setAvailable(!dish.isAvailable());
-        return mapper.toDishResponse(dishRepository.save(dish));
+        Dish saved = dishRepository.save(dish);
+        eventPublisher.publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.upsert(restaurantIdOf(dish.getCategory()), MenuEntityType.DISH, id))));
+        return mapper.toDishResponse(saved);
     }
 
     private Dish getEntityById(Long id) {
@@ -133,11 +205,39 @@ public class DishService {
                 .orElseThrow(() -> new ResourceNotFoundException("Dish", id));
     }
 
-    public static String buildSafeDishCacheKey(Long restaurantId, Set<AllergenType> excludedAllergens) {
-        String allergensKey = excludedAllergens == null ? "" : excludedAllergens.stream()
-                .map(Enum::name)
-                .sorted()
-                .collect(Collectors.joining(","));
-        return restaurantId + "-" + allergensKey;
+    /**
+     * Change-log entries for a dish update. A dish moved to another restaurant is a delete
+     * for the old menu; a move between categories changes both categories' dish counts.
+     */
+    private static List<MenuChange> movedDishChanges(Long dishId, MenuCategory from, MenuCategory to) {
+        List<MenuChange> changes = new ArrayList<>();
+        Long fromRestaurantId = restaurantIdOf(from);
+        Long toRestaurantId = restaurantIdOf(to);
+        if (!fromRestaurantId.equals(toRestaurantId)) {
+            changes.add(MenuChange.delete(fromRestaurantId, MenuEntityType.DISH, dishId));
+        }
+        changes.add(MenuChange.upsert(toRestaurantId, MenuEntityType.DISH, dishId));
+        if (!from.getId().equals(to.getId())) {
+            changes.add(MenuChange.upsert(fromRestaurantId, MenuEntityType.CATEGORY, from.getId()));
+            changes.add(MenuChange.upsert(toRestaurantId, MenuEntityType.CATEGORY, to.getId()));
+        }
+        return changes;
+    }
+
+    private static Long restaurantIdOf(MenuCategory category) {
+        return category.getRestaurant().getId();
+    }
+
+    /** Key of a safe-dish page; the exclusions go in as a mask, so their order does not matter. */
+    public static MenuCacheKey buildSafeDishCacheKey(Long restaurantId, long menuVersion, Set<AllergenType> excludedAllergens,
+                                                     MenuCursor after, int size, boolean includeTotal) {
+        return new MenuCacheKey(MenuCacheKey.SAFE, restaurantId, menuVersion, AllergenSets.keyOf(excludedAllergens),
+                after, size, includeTotal);
+    }
+
+    /** Key covering the whole page request — menu version, cursor, size and total — so pages never collide. */
+    public static MenuCacheKey buildMenuPageCacheKey(Long restaurantId, long menuVersion, MenuCursor after, int size,
+                                                     boolean includeTotal) {
+        return new MenuCacheKey(MenuCacheKey.MENU, restaurantId, menuVersion, 0, after, size, includeTotal);
     }
 }
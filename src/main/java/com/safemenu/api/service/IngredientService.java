@@ -2,17 +2,29 @@ package com.safemenu.api.service;
 
 import com.safemenu.api.dto.request.IngredientRequest;
 import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.entity.Dish;
 import com.safemenu.api.entity.Ingredient;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.IngredientChangedEvent;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
 import com.safemenu.api.exception.DuplicateResourceException;
 import com.safemenu.api.exception.ResourceNotFoundException;
 import com.safemenu.api.mapper.EntityMapper;
 import com.safemenu.api.repository.IngredientRepository;
+import com.safemenu.api.search.IngredientSearch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +33,8 @@ public class IngredientService {
 
     private final IngredientRepository ingredientRepository;
     private final EntityMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngredientSearch ingredientSearch;
 
     public List<IngredientResponse> findAll() {
         return ingredientRepository.findAll().stream()
@@ -32,8 +46,20 @@ public class IngredientService {
         return mapper.toIngredientResponse(getEntityById(id));
     }
 
-    public List<IngredientResponse> search(String query) {
-        return ingredientRepository.findByNameContainingIgnoreCase(query).stream()
+    /**
+     * Typeahead: the best {@code limit} name matches from the search engine, in rank order,
+     * hydrated with one primary-key lookup.
+     */
+    public List<IngredientResponse> search(String query, int limit) {
+        List<Long> ids = ingredientSearch.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Ingredient> found = ingredientRepository.findByIdIn(Set.copyOf(ids)).stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
                 .map(mapper::toIngredientResponse)
                 .toList();
     }
@@ -49,9 +75,12 @@ public class IngredientService {
                 .name(request.getName())
                 .description(request.getDescription())
                 .allergens(request.getAllergens())
+                .allergenMask(AllergenType.toMask(request.getAllergens()))
                 .build();
 
-        return mapper.toIngredientResponse(ingredientRepository.save(ingredient));
+        Ingredient saved = ingredientRepository.save(ingredient);
+        eventPublisher.publishEvent(IngredientChangedEvent.of(saved.getId()));
+        return mapper.toIngredientResponse(saved);
     }
 
     @Transactional
@@ -60,14 +89,38 @@ public class IngredientService {
         ingredient.setName(request.getName());
         ingredient.setDescription(request.getDescription());
         ingredient.setAllergens(request.getAllergens());
+        // Dishes carry a denormalised allergen mask — keep it in step with the new tags
+        ingredient.getDishes().forEach(Dish::recomputeAllergenMask);
 
-        return mapper.toIngredientResponse(ingredientRepository.save(ingredient));
+        Ingredient saved = ingredientRepository.save(ingredient);
+        publishMenuChange(ingredient);
+        eventPublisher.publishEvent(IngredientChangedEvent.of(id));
+        return mapper.toIngredientResponse(saved);
     }
 
     @Transactional
     public void delete(Long id) {
         Ingredient ingredient = getEntityById(id);
+        publishMenuChange(ingredient);
+        for (Dish dish : ingredient.getDishes()) {
+            dish.getIngredients().remove(ingredient);
+            dish.recomputeAllergenMask();
+        }
         ingredientRepository.delete(ingredient);
+        eventPublisher.publishEvent(IngredientChangedEvent.of(id));
+    }
+
+    /**
+     * Announces a change to every dish made with the ingredient — its allergens, and
+     * so its entry in each serving restaurant's menu, follow the ingredient.
+     */
+    private void publishMenuChange(Ingredient ingredient) {
+        List<MenuChange> changes = ingredient.getDishes().stream()
+                .map(dish -> MenuChange.upsert(dish.getCategory().getRestaurant().getId(), MenuEntityType.DISH, dish.getId()))
+                .toList();
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(MenuChangedEvent.of(changes));
+        }
     }
 
     public Ingredient getEntityById(Long id) {
@@ -0,0 +1,18 @@
+package com.safemenu.api.service;
+
+/**
+ * Key of an entry in the menu caches ({@code restaurantMenus}, {@code safeDishes} and the
+ * encoded {@code menuResponses}): which read, of which restaurant at which menu version, and
+ * which page of it. A record, so a lookup compares fields instead of building a key string;
+ * {@link com.safemenu.api.cache.MenuCacheInvalidator} evicts by {@link #restaurantId()}.
+ *
+ * @param kind         the read — {@link #MENU} or {@link #SAFE}
+ * @param menuVersion  menu version the entry is built from
+ * @param excludedMask allergens a safe-dish read excludes, as a mask so set order does not matter; 0 for a menu page
+ */
+public record MenuCacheKey(String kind, long restaurantId, long menuVersion, int excludedMask,
+                           MenuCursor after, int size, boolean includeTotal) {
+
+    public static final String MENU = "menu";
+    public static final String SAFE = "safe";
+}
@@ -1,17 +1,27 @@
 package com.safemenu.api.service;
 
+import com.safemenu.api.dto.projection.CountRow;
 import com.safemenu.api.dto.request.CategoryRequest;
 import com.safemenu.api.dto.response.CategoryResponse;
 import com.safemenu.api.entity.MenuCategory;
 import com.safemenu.api.entity.Restaurant;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
 import com.safemenu.api.exception.ResourceNotFoundException;
 import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.repository.DishRepository;
 import com.safemenu.api.repository.MenuCategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,17 +29,21 @@ import java.util.List;
 public class MenuCategoryService {
 
     private final MenuCategoryRepository categoryRepository;
+    private final DishRepository dishRepository;
     private final RestaurantService restaurantService;
     private final EntityMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CategoryResponse> findByRestaurant(Long restaurantId) {
-        return categoryRepository.findByRestaurantIdOrderByDisplayOrderAsc(restaurantId).stream()
-                .map(mapper::toCategoryResponse)
-                .toList();
+        return toResponses(categoryRepository.findByRestaurantIdOrderByDisplayOrderAsc(restaurantId));
+    }
+
+    public List<CategoryResponse> findAllById(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : toResponses(categoryRepository.findByIdIn(ids));
     }
 
     public CategoryResponse findById(Long id) {
-        return mapper.toCategoryResponse(getEntityById(id));
+        return toResponses(List.of(getEntityById(id))).get(0);
     }
 
     @Transactional
@@ -43,7 +57,10 @@ public class MenuCategoryService {
                 .restaurant(restaurant)
                 .build();
 
-        return mapper.toCategoryResponse(categoryRepository.save(category));
+        MenuCategory saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.upsert(restaurant.getId(), MenuEntityType.CATEGORY, saved.getId()))));
+        return mapper.toCategoryResponse(saved, 0);
     }
 
     @Transactional
@@ -53,13 +70,37 @@ public class MenuCategoryService {
         category.setDescription(request.getDescription());
         category.setDisplayOrder(request.getDisplayOrder());
 
-        return mapper.toCategoryResponse(categoryRepository.save(category));
+        MenuCategory saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.upsert(category.getRestaurant().getId(), MenuEntityType.CATEGORY, id))));
+        return toResponses(List.of(saved)).get(0);
     }
 
     @Transactional
     public void delete(Long id) {
         MenuCategory category = getEntityById(id);
+        Long restaurantId = category.getRestaurant().getId();
+        // Dishes go with their category — each needs its own tombstone
+        List<MenuChange> changes = new ArrayList<>();
+        changes.add(MenuChange.delete(restaurantId, MenuEntityType.CATEGORY, id));
+        category.getDishes().forEach(dish ->
+                changes.add(MenuChange.delete(restaurantId, MenuEntityType.DISH, dish.getId())));
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(MenuChangedEvent.of(changes));
+    }
+
+    /** Dish counts for all categories come from a single grouped query. */
+    private List<CategoryResponse> toResponses(List<MenuCategory> categories) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = categories.stream().map(MenuCategory::getId).toList();
+        Map<Long, Long> dishCounts = dishRepository.countByCategoryIds(ids).stream()
+                .collect(Collectors.toMap(CountRow::ownerId, CountRow::count));
+
+        return categories.stream()
+                .map(c -> mapper.toCategoryResponse(c, dishCounts.getOrDefault(c.getId(), 0L).intValue()))
+                .toList();
     }
 
     public MenuCategory getEntityById(Long id) {
@@ -0,0 +1,164 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.response.CategoryResponse;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.dto.response.MenuChangesResponse;
+import com.safemenu.api.entity.MenuChangeEntry;
+import com.safemenu.api.entity.Restaurant;
+import com.safemenu.api.enums.MenuChangeType;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.exception.ResourceNotFoundException;
+import com.safemenu.api.repository.MenuChangeRepository;
+import com.safemenu.api.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned menu writes and the change log behind delta sync.
+ *
+ * Just before a menu write commits, the menu version of every affected restaurant is
+ * incremented and each dish or category the write touched is logged under the new version,
+ * replacing that entity's previous entry. Tombstones are kept for
+ * {@code safemenu.changes.tombstone-retention}; purging them raises the restaurant's change
+ * floor, below which clients are told to reload the full menu.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MenuChangeLogService {
+
+    private static final int DELETE_CHUNK = 1000;
+
+    private final MenuChangeRepository changeRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final DishReadModel dishReadModel;
+    private final MenuCategoryService categoryService;
+
+    @Value("${safemenu.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    /**
+     * Dishes and categories of {@code restaurantId} created, updated or deleted after
+     * menu version {@code since}.
+     */
+    public MenuChangesResponse findChanges(Long restaurantId, long since) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", restaurantId));
+        long version = restaurant.getMenuVersion();
+
+        MenuChangesResponse.MenuChangesResponseBuilder response = MenuChangesResponse.builder()
+                .restaurantId(restaurantId)
+                .since(since)
+                .version(version)
+                .dishes(List.of())
+                .categories(List.of())
+                .deletedDishIds(List.of())
+                .deletedCategoryIds(List.of());
+        if (since < restaurant.getMenuChangeFloor()) {
+            return response.resyncRequired(true).build();
+        }
+        if (since >= version) {
+            return response.build();
+        }
+
+        List<Long> dishIds = new ArrayList<>();
+        List<Long> categoryIds = new ArrayList<>();
+        List<Long> deletedDishIds = new ArrayList<>();
+        List<Long> deletedCategoryIds = new ArrayList<>();
+        for (MenuChangeEntry entry : changeRepository.findChanges(restaurantId, since, version)) {
+            boolean dish = entry.getEntityType() == MenuEntityType.DISH;
+            boolean deleted = entry.getChangeType() == MenuChangeType.DELETE;
+            (dish ? (deleted ? deletedDishIds : dishIds) : (deleted ? deletedCategoryIds : categoryIds))
+                    .add(entry.getEntityId());
+        }
+
+        List<DishResponse> dishes = dishReadModel.findByIds(dishIds);
+        List<CategoryResponse> categories = categoryService.findAllById(categoryIds);
+        return response
+                .dishes(dishes)
+                .categories(categories)
+                .deletedDishIds(deletedDishIds)
+                .deletedCategoryIds(deletedCategoryIds)
+                .build();
+    }
+
+    /** Relayed events were already versioned and logged by the node that made the write. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.remote() || event.restaurantIds().isEmpty()) {
+            return;
+        }
+        restaurantRepository.incrementMenuVersions(event.restaurantIds());
+        if (event.changes().isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long restaurantId : event.restaurantIds()) {
+            restaurantRepository.findMenuVersionById(restaurantId)
+                    .ifPresent(version -> versions.put(restaurantId, version));
+        }
+
+        // Last change per entity wins; earlier entries for the same entities are compacted away
+        Map<EntityRef, MenuChange> latest = new LinkedHashMap<>();
+        for (MenuChange change : event.changes()) {
+            if (versions.containsKey(change.restaurantId())) {
+                latest.put(new EntityRef(change.restaurantId(), change.entityType(), change.entityId()), change);
+            }
+        }
+        latest.keySet().stream()
+                .collect(Collectors.groupingBy(EntityRef::restaurantId,
+                        Collectors.groupingBy(EntityRef::entityType,
+                                Collectors.mapping(EntityRef::entityId, Collectors.toList()))))
+                .forEach((restaurantId, idsByType) -> idsByType.forEach((entityType, entityIds) -> {
+                    // Bulk imports log thousands of entities — keep IN lists within driver limits
+                    for (int from = 0; from < entityIds.size(); from += DELETE_CHUNK) {
+                        List<Long> chunk = entityIds.subList(from, Math.min(from + DELETE_CHUNK, entityIds.size()));
+                        changeRepository.deleteEntries(restaurantId, entityType, chunk);
+                    }
+                }));
+
+        changeRepository.saveAll(latest.values().stream()
+                .map(change -> MenuChangeEntry.builder()
+                        .restaurantId(change.restaurantId())
+                        .menuVersion(versions.get(change.restaurantId()))
+                        .entityType(change.entityType())
+                        .entityId(change.entityId())
+                        .changeType(change.changeType())
+                        .build())
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${safemenu.changes.compaction-interval:PT1H}",
+            initialDelayString = "${safemenu.changes.compaction-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        purgeTombstonesBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    /** Drops tombstones written before {@code cutoff}, raising the change floors first. */
+    @Transactional
+    public int purgeTombstonesBefore(LocalDateTime cutoff) {
+        restaurantRepository.raiseMenuChangeFloors(cutoff);
+        return changeRepository.deleteTombstonesBefore(cutoff);
+    }
+
+    private record EntityRef(Long restaurantId, MenuEntityType entityType, Long entityId) {
+    }
+}
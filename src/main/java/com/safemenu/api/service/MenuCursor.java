@@ -0,0 +1,101 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.response.CursorPage;
+import com.safemenu.api.dto.response.DishResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a dish list, which is always in menu order: category display order, then
+ * dish id. Sent to clients as an opaque token, so the encoding may change freely.
+ *
+ * @param displayOrder display order of the last dish's category
+ * @param dishId       id of the last dish returned
+ */
+public record MenuCursor(int displayOrder, long dishId) {
+
+    /** Before every dish. */
+    public static final MenuCursor START = new MenuCursor(Integer.MIN_VALUE, 0);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String VERSION = "m1";
+
+    /** Cursor from a client token — {@link #START} when absent. */
+    public static MenuCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new MenuCursor(Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public static MenuCursor after(DishResponse dish) {
+        return new MenuCursor(dish.getCategoryDisplayOrder(), dish.getId());
+    }
+
+    /** Rejects page sizes outside {@code 1..MAX_PAGE_SIZE}. */
+    public static int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + displayOrder + ":" + dishId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Whether {@code dish} comes after this position in menu order. */
+    public boolean isBefore(DishResponse dish) {
+        int order = Integer.compare(dish.getCategoryDisplayOrder(), displayOrder);
+        return order > 0 || (order == 0 && dish.getId() > dishId);
+    }
+
+    /**
+     * Page built from up to {@code size + 1} rows fetched after a cursor — the extra row
+     * only signals that another page exists.
+     */
+    public static CursorPage<DishResponse> page(List<DishResponse> fetched, int size, Long totalElements) {
+        boolean hasNext = fetched.size() > size;
+        List<DishResponse> content = hasNext ? fetched.subList(0, size) : fetched;
+        return CursorPage.<DishResponse>builder()
+                .content(List.copyOf(content))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? after(content.get(content.size() - 1)).encode() : null)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    /**
+     * Page of an in-memory list already in menu order: binary search to the cursor, then
+     * a sub-list — no scan of the dishes before it.
+     */
+    public CursorPage<DishResponse> slice(List<DishResponse> ordered, int size, boolean includeTotal) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isBefore(ordered.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        List<DishResponse> fetched = ordered.subList(low, Math.min(ordered.size(), low + size + 1));
+        return page(fetched, size, includeTotal ? (long) ordered.size() : null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.safemenu.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.dto.projection.DishRow;
+import com.safemenu.api.dto.response.DishExportLine;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.exception.ResourceNotFoundException;
+import com.safemenu.api.repository.DishReadRepository;
+import com.safemenu.api.repository.RestaurantRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Full menu dumps as NDJSON — one {@link DishExportLine} per line.
+ *
+ * Dishes are read as projection rows through a fetch-size-tuned cursor, enriched with
+ * their ingredients one batch at a time, written and flushed before the next batch is
+ * read. Nothing accumulates in the persistence context or on the heap, so memory use
+ * does not depend on the size of the menu.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MenuExportService {
+
+    private static final int BATCH_SIZE = DishReadRepository.EXPORT_FETCH_SIZE;
+
+    private final DishReadRepository readRepository;
+    private final DishReadModel readModel;
+    private final RestaurantRepository restaurantRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /** Checked before the response is committed, so unknown restaurants still get a 404. */
+    public Set<Long> requireRestaurants(Collection<Long> restaurantIds) {
+        Set<Long> ids = new LinkedHashSet<>(restaurantIds);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one restaurant id is required");
+        }
+        Set<Long> existing = Set.copyOf(restaurantRepository.findExistingIds(ids));
+        List<Long> missing = ids.stream()
+                .filter(id -> !existing.contains(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Restaurants not found with ids: " + missing);
+        }
+        return ids;
+    }
+
+    /** Writes the menus of the given restaurants, in order, and returns the number of dishes written. */
+    public long export(Collection<Long> restaurantIds, OutputStream out) {
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of space-separated
+            generator.setRootValueSeparator(null);
+            for (Long restaurantId : restaurantIds) {
+                try (Stream<DishRow> rows = readRepository.streamMenuRowsByRestaurantId(restaurantId)) {
+                    Iterator<DishRow> cursor = rows.iterator();
+                    List<DishRow> batch = new ArrayList<>(BATCH_SIZE);
+                    while (cursor.hasNext()) {
+                        batch.add(cursor.next());
+                        if (batch.size() == BATCH_SIZE || !cursor.hasNext()) {
+                            written += writeBatch(generator, restaurantId, batch);
+                            batch.clear();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    private int writeBatch(JsonGenerator generator, Long restaurantId, List<DishRow> batch) throws IOException {
+        List<DishResponse> dishes = readModel.assemble(batch);
+        for (DishResponse dish : dishes) {
+            objectMapper.writeValue(generator, new DishExportLine(restaurantId, dish));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        entityManager.clear();
+        return dishes.size();
+    }
+}
@@ -1,16 +1,31 @@
 package com.safemenu.api.service;
 
+import com.safemenu.api.dto.projection.CountRow;
 import com.safemenu.api.dto.request.RestaurantRequest;
 import com.safemenu.api.dto.response.RestaurantResponse;
+import com.safemenu.api.dto.response.RestaurantSafeDishesResponse;
 import com.safemenu.api.entity.Restaurant;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.event.MenuChangedEvent;
 import com.safemenu.api.exception.ResourceNotFoundException;
 import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.repository.DishRepository;
+import com.safemenu.api.repository.MenuCategoryRepository;
 import com.safemenu.api.repository.RestaurantRepository;
+import com.safemenu.api.snapshot.AllergenIndexRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,16 +33,38 @@ import java.util.List;
 public class RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final MenuCategoryRepository categoryRepository;
+    private final DishRepository dishRepository;
     private final EntityMapper mapper;
+    private final AllergenIndexRegistry allergenIndexRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<RestaurantResponse> findAll() {
-        return restaurantRepository.findAll().stream()
-                .map(mapper::toRestaurantResponse)
-                .toList();
+    /**
+     * One page of restaurants, optionally filtered by {@code active}. Category and dish
+     * counts for the whole page come from two grouped queries, whatever the page size.
+     */
+    public Page<RestaurantResponse> findAll(Boolean active, Pageable pageable) {
+        Page<Restaurant> page = active == null
+                ? restaurantRepository.findAll(pageable)
+                : restaurantRepository.findByActive(active, pageable);
+        List<RestaurantResponse> content = toResponses(page.getContent());
+        return new PageImpl<>(content, pageable, page.getTotalElements());
+    }
+
+    /**
+     * Cross-restaurant safe dining search: every active restaurant with at least
+     * {@code minSafeDishes} available dishes free of all excluded allergens, best first.
+     * Answered from the in-memory {@link com.safemenu.api.snapshot.AllergenIndex}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RestaurantSafeDishesResponse> findWithSafeDishes(Set<AllergenType> excludedAllergens,
+                                                                 int minSafeDishes, int limit) {
+        return allergenIndexRegistry.get()
+                .findRestaurantsWithSafeDishes(AllergenType.toMask(excludedAllergens), minSafeDishes, limit);
     }
 
     public RestaurantResponse findById(Long id) {
-        return mapper.toRestaurantResponse(getEntityById(id));
+        return toResponses(List.of(getEntityById(id))).get(0);
     }
 
     @Transactional
@@ -40,7 +77,7 @@ public class RestaurantService {
                 .description(request.getDescription())
                 .build();
 
-        return mapper.toRestaurantResponse(restaurantRepository.save(restaurant));
+        return mapper.toRestaurantResponse(restaurantRepository.save(restaurant), 0, 0);
     }
 
     @Transactional
@@ -52,13 +89,35 @@ public class RestaurantService {
         restaurant.setEmail(request.getEmail());
         restaurant.setDescription(request.getDescription());
 
-        return mapper.toRestaurantResponse(restaurantRepository.save(restaurant));
+        Restaurant saved = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(MenuChangedEvent.of(id));
+        return toResponses(List.of(saved)).get(0);
     }
 
     @Transactional
     public void delete(Long id) {
         Restaurant restaurant = getEntityById(id);
         restaurantRepository.delete(restaurant);
+        eventPublisher.publishEvent(MenuChangedEvent.of(id));
+    }
+
+    private List<RestaurantResponse> toResponses(List<Restaurant> restaurants) {
+        if (restaurants.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = restaurants.stream().map(Restaurant::getId).toList();
+        Map<Long, Long> categoryCounts = toMap(categoryRepository.countByRestaurantIds(ids));
+        Map<Long, Long> dishCounts = toMap(dishRepository.countByRestaurantIds(ids));
+
+        return restaurants.stream()
+                .map(r -> mapper.toRestaurantResponse(r,
+                        categoryCounts.getOrDefault(r.getId(), 0L).intValue(),
+                        dishCounts.getOrDefault(r.getId(), 0L).intValue()))
+                .toList();
+    }
+
+    private static Map<Long, Long> toMap(List<CountRow> rows) {
+        return rows.stream().collect(Collectors.toMap(CountRow::ownerId, CountRow::count));
     }
 
     /** Internal helper — used by other services to resolve FK references */
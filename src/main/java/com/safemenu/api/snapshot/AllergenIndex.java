@@ -0,0 +1,171 @@
+package com.safemenu.api.snapshot;
+
+import com.safemenu.api.dto.projection.DishAllergenRow;
+import com.safemenu.api.dto.response.RestaurantSafeDishesResponse;
+import com.safemenu.api.enums.AllergenType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable inverted index over the dishes of every active restaurant.
+ *
+ * Each dish gets a dense ordinal; there is one posting {@link BitSet} of dish ordinals
+ * per {@link AllergenType} plus one for available dishes, and an ordinal → restaurant
+ * table. Rows are expected ordered by restaurant, so each restaurant's dishes occupy a
+ * contiguous ordinal range and the bitsets stay compact. Those ranges let
+ * {@link #withRestaurants} replace a few restaurants without re-reading the rest.
+ */
+public final class AllergenIndex {
+
+    private static final AllergenType[] ALLERGENS = AllergenType.values();
+
+    private final BitSet[] postings = new BitSet[ALLERGENS.length];
+    private final BitSet available = new BitSet();
+    private final int[] maskByDish;
+    private final int[] restaurantSlotByDish;
+    private final List<Long> restaurantIds = new ArrayList<>();
+    private final List<String> restaurantNames = new ArrayList<>();
+    /** First ordinal of each restaurant slot. */
+    private final List<Integer> restaurantStarts = new ArrayList<>();
+    private int size;
+
+    AllergenIndex(List<DishAllergenRow> rows) {
+        this(rows.size());
+        appendRows(rows, 0, rows.size());
+    }
+
+    private AllergenIndex(int capacity) {
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = new BitSet(capacity);
+        }
+        maskByDish = new int[capacity];
+        restaurantSlotByDish = new int[capacity];
+    }
+
+    /**
+     * A copy of this index in which the dishes of {@code changedRestaurants} are replaced by
+     * {@code rows} — their current rows, active restaurants only, in the same order as a full
+     * build. Restaurants absent from {@code rows} (deleted, deactivated, emptied) drop out.
+     */
+    AllergenIndex withRestaurants(Set<Long> changedRestaurants, List<DishAllergenRow> rows) {
+        int kept = 0;
+        for (int slot = 0; slot < restaurantIds.size(); slot++) {
+            if (!changedRestaurants.contains(restaurantIds.get(slot))) {
+                kept += end(slot) - restaurantStarts.get(slot);
+            }
+        }
+        AllergenIndex next = new AllergenIndex(kept + rows.size());
+
+        int slot = 0;
+        int row = 0;
+        while (slot < restaurantIds.size() || row < rows.size()) {
+            if (slot < restaurantIds.size()
+                    && (row == rows.size() || restaurantIds.get(slot) < rows.get(row).restaurantId())) {
+                if (!changedRestaurants.contains(restaurantIds.get(slot))) {
+                    next.appendSlot(this, slot);
+                }
+                slot++;
+            } else {
+                Long restaurantId = rows.get(row).restaurantId();
+                int to = row;
+                while (to < rows.size() && rows.get(to).restaurantId().equals(restaurantId)) {
+                    to++;
+                }
+                next.appendRows(rows, row, to);
+                row = to;
+                if (slot < restaurantIds.size() && restaurantIds.get(slot).equals(restaurantId)) {
+                    slot++;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Restaurants with at least {@code minSafeDishes} available dishes free of every allergen
+     * in {@code excludedMask}, ranked by safe-dish count (ties by restaurant id), top {@code limit}.
+     */
+    public List<RestaurantSafeDishesResponse> findRestaurantsWithSafeDishes(int excludedMask, int minSafeDishes, int limit) {
+        BitSet unsafe = new BitSet();
+        for (int mask = excludedMask; mask != 0; mask &= mask - 1) {
+            unsafe.or(postings[Integer.numberOfTrailingZeros(mask)]);
+        }
+        BitSet safe = (BitSet) available.clone();
+        safe.andNot(unsafe);
+
+        int[] counts = new int[restaurantIds.size()];
+        for (int ordinal = safe.nextSetBit(0); ordinal >= 0; ordinal = safe.nextSetBit(ordinal + 1)) {
+            counts[restaurantSlotByDish[ordinal]]++;
+        }
+
+        Comparator<Integer> ranking = Comparator.<Integer>comparingInt(slot -> counts[slot])
+                .thenComparing(slot -> restaurantIds.get(slot), Comparator.reverseOrder());
+        PriorityQueue<Integer> top = new PriorityQueue<>(ranking);
+        for (int slot = 0; slot < counts.length; slot++) {
+            if (counts[slot] < minSafeDishes) {
+                continue;
+            }
+            top.add(slot);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<RestaurantSafeDishesResponse> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int slot = top.poll();
+            result.add(0, RestaurantSafeDishesResponse.builder()
+                    .restaurantId(restaurantIds.get(slot))
+                    .restaurantName(restaurantNames.get(slot))
+                    .safeDishCount(counts[slot])
+                    .build());
+        }
+        return result;
+    }
+
+    private int end(int slot) {
+        return slot + 1 < restaurantStarts.size() ? restaurantStarts.get(slot + 1) : size;
+    }
+
+    private void appendRows(List<DishAllergenRow> rows, int from, int to) {
+        Long currentRestaurant = null;
+        for (int i = from; i < to; i++) {
+            DishAllergenRow row = rows.get(i);
+            if (!row.restaurantId().equals(currentRestaurant)) {
+                currentRestaurant = row.restaurantId();
+                startRestaurant(currentRestaurant, row.restaurantName());
+            }
+            appendDish(row.available(), row.allergenMask());
+        }
+    }
+
+    private void appendSlot(AllergenIndex source, int slot) {
+        startRestaurant(source.restaurantIds.get(slot), source.restaurantNames.get(slot));
+        for (int ordinal = source.restaurantStarts.get(slot), end = source.end(slot); ordinal < end; ordinal++) {
+            appendDish(source.available.get(ordinal), source.maskByDish[ordinal]);
+        }
+    }
+
+    private void startRestaurant(Long restaurantId, String restaurantName) {
+        restaurantIds.add(restaurantId);
+        restaurantNames.add(restaurantName);
+        restaurantStarts.add(size);
+    }
+
+    private void appendDish(boolean dishAvailable, int allergenMask) {
+        int ordinal = size++;
+        restaurantSlotByDish[ordinal] = restaurantIds.size() - 1;
+        maskByDish[ordinal] = allergenMask;
+        if (dishAvailable) {
+            available.set(ordinal);
+        }
+        for (int mask = allergenMask; mask != 0; mask &= mask - 1) {
+            postings[Integer.numberOfTrailingZeros(mask)].set(ordinal);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.safemenu.api.snapshot;
+
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.repository.DishRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the current cross-restaurant {@link AllergenIndex}.
+ *
+ * The index is built lazily from a single projection query; concurrent first reads
+ * wait for that one build instead of each running it. After a committed menu write only
+ * the restaurants the event names are re-read and spliced into a new index, while readers
+ * keep the previous one. Builds and updates run one at a time, so every update applies
+ * to the newest index. A {@link ReentrantLock} rather than {@code synchronized} guards
+ * them, as it is held across queries and must not pin virtual threads.
+ */
+@Component
+public class AllergenIndexRegistry {
+
+    private final DishRepository dishRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile AllergenIndex current;
+
+    public AllergenIndexRegistry(DishRepository dishRepository, PlatformTransactionManager transactionManager) {
+        this.dishRepository = dishRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public AllergenIndex get() {
+        AllergenIndex index = current;
+        if (index != null) {
+            return index;
+        }
+        lock.lock();
+        try {
+            if (current == null) {
+                current = readOnlyTx.execute(status -> new AllergenIndex(dishRepository.findAllergenRowsForActiveRestaurants()));
+            }
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Order(MenuChangedEvent.REBUILD_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.restaurantIds().isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            AllergenIndex index = current;
+            if (index == null) {
+                return; // the next read builds it whole
+            }
+            current = readOnlyTx.execute(status -> index.withRestaurants(event.restaurantIds(),
+                    dishRepository.findAllergenRowsForActiveRestaurants(event.restaurantIds())));
+        } catch (RuntimeException e) {
+            current = null;
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.safemenu.api.snapshot;
+
+import com.safemenu.api.dto.response.DishResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, array-backed view of one restaurant's dishes.
+ *
+ * Dish attributes used for filtering are packed into parallel primitive arrays,
+ * so allergen and diet filters are a linear bitwise scan with no JPA involved.
+ * Dishes are kept in menu order (category display order, then dish id).
+ *
+ * {@link #getMenuVersion()} is the restaurant's menu version read just before the dishes,
+ * so the dishes are at least that new: ETags and cache keys of reads answered from the
+ * snapshot take it from here rather than from a separately read version.
+ */
+public final class MenuSnapshot {
+
+    static final int AVAILABLE = 1;
+    static final int VEGETARIAN = 1 << 1;
+    static final int VEGAN = 1 << 2;
+
+    private final Long restaurantId;
+    private final long menuVersion;
+    private final byte[] flags;
+    private final int[] allergenMasks;
+    private final DishResponse[] dishes;
+
+    MenuSnapshot(Long restaurantId, long menuVersion, List<DishResponse> dishes, int[] allergenMasks) {
+        int size = dishes.size();
+        this.restaurantId = restaurantId;
+        this.menuVersion = menuVersion;
+        this.flags = new byte[size];
+        this.allergenMasks = allergenMasks.clone();
+        this.dishes = dishes.toArray(new DishResponse[0]);
+
+        for (int i = 0; i < size; i++) {
+            DishResponse dish = this.dishes[i];
+            flags[i] = (byte) ((dish.isAvailable() ? AVAILABLE : 0)
+                    | (dish.isVegetarian() ? VEGETARIAN : 0)
+                    | (dish.isVegan() ? VEGAN : 0));
+        }
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public long getMenuVersion() {
+        return menuVersion;
+    }
+
+    public int size() {
+        return dishes.length;
+    }
+
+    /** Available dishes containing none of the allergens in {@code excludedMask}. */
+    public List<DishResponse> findSafe(int excludedMask) {
+        return select(AVAILABLE, excludedMask);
+    }
+
+    public List<DishResponse> findVegetarian() {
+        return select(AVAILABLE | VEGETARIAN, 0);
+    }
+
+    public List<DishResponse> findVegan() {
+        return select(AVAILABLE | VEGAN, 0);
+    }
+
+    /**
+     * Matches a whole party in one scan: for each guest's {@code excludedMasks[g]}, the ids of
+     * the available dishes safe for that guest, plus the dishes safe for everyone.
+     */
+    public PartyMatch matchParty(int[] excludedMasks) {
+        int partyMask = 0;
+        List<List<Long>> safeByGuest = new ArrayList<>(excludedMasks.length);
+        for (int excludedMask : excludedMasks) {
+            partyMask |= excludedMask;
+            safeByGuest.add(new ArrayList<>());
+        }
+
+        List<DishResponse> matched = new ArrayList<>();
+        List<Long> safeForEveryone = new ArrayList<>();
+        for (int i = 0; i < dishes.length; i++) {
+            if ((flags[i] & AVAILABLE) == 0) {
+                continue;
+            }
+            int mask = allergenMasks[i];
+            Long dishId = dishes[i].getId();
+            boolean safeForAnyone = false;
+            for (int g = 0; g < excludedMasks.length; g++) {
+                if ((mask & excludedMasks[g]) == 0) {
+                    safeByGuest.get(g).add(dishId);
+                    safeForAnyone = true;
+                }
+            }
+            if (safeForAnyone) {
+                matched.add(dishes[i]);
+            }
+            if ((mask & partyMask) == 0) {
+                safeForEveryone.add(dishId);
+            }
+        }
+        return new PartyMatch(matched, safeByGuest, safeForEveryone);
+    }
+
+    /**
+     * Result of {@link #matchParty}: {@code dishes} safe for at least one guest, each guest's
+     * safe dish ids (in the order the masks were given) and the ids safe for the whole party.
+     */
+    public record PartyMatch(List<DishResponse> dishes, List<List<Long>> safeDishIdsByGuest,
+                             List<Long> safeForEveryone) {
+    }
+
+    private List<DishResponse> select(int requiredFlags, int excludedMask) {
+        List<DishResponse> result = new ArrayList<>();
+        for (int i = 0; i < dishes.length; i++) {
+            if ((flags[i] & requiredFlags) == requiredFlags && (allergenMasks[i] & excludedMask) == 0) {
+                result.add(dishes[i]);
+            }
+        }
+        return result;
+    }
+}
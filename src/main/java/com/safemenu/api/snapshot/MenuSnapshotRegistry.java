@@ -0,0 +1,108 @@
+package com.safemenu.api.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safemenu.api.config.MenuCacheProperties;
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.repository.RestaurantRepository;
+import com.safemenu.api.service.DishReadModel;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds one {@link MenuSnapshot} per restaurant.
+ *
+ * Snapshots are loaded on first access and rebuilt after every committed menu write
+ * (copy-on-write): readers keep using the previous snapshot until the replacement is
+ * swapped in. A per-restaurant generation counter stops a slow rebuild that read
+ * older data from overwriting a newer one.
+ *
+ * Snapshots live in a Caffeine cache bounded by total dishes and idle time
+ * ({@code safemenu.cache.snapshots}); a restaurant found deleted on rebuild is dropped.
+ * Generation counters are held weakly: one only has to outlive the rebuilds that read it.
+ *
+ * Rebuilds run ahead of cache eviction ({@link MenuChangedEvent#REBUILD_ORDER}), so by the
+ * time the menu caches are emptied the snapshot they are refilled from is already current.
+ */
+@Component
+public class MenuSnapshotRegistry {
+
+    private final DishReadModel readModel;
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Cache<Long, MenuSnapshot> snapshots;
+    private final Cache<Long, AtomicLong> generations = Caffeine.newBuilder().weakValues().build();
+
+    public MenuSnapshotRegistry(DishReadModel readModel, RestaurantRepository restaurantRepository,
+                                PlatformTransactionManager transactionManager, MenuCacheProperties properties) {
+        this.readModel = readModel;
+        this.restaurantRepository = restaurantRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getSnapshots().getMaximumWeight())
+                .weigher((Long id, MenuSnapshot snapshot) -> Math.max(1, snapshot.size()))
+                .expireAfterAccess(properties.getSnapshots().getExpireAfterAccess())
+                .build();
+    }
+
+    public MenuSnapshot get(Long restaurantId) {
+        MenuSnapshot snapshot = snapshots.getIfPresent(restaurantId);
+        return snapshot != null ? snapshot : rebuild(restaurantId);
+    }
+
+    @Order(MenuChangedEvent.REBUILD_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        for (Long restaurantId : event.restaurantIds()) {
+            generation(restaurantId).incrementAndGet();
+            if (snapshots.asMap().containsKey(restaurantId)) {
+                rebuild(restaurantId);
+            }
+        }
+    }
+
+    private MenuSnapshot rebuild(Long restaurantId) {
+        AtomicLong generation = generation(restaurantId);
+        long expected = generation.get();
+        Optional<MenuSnapshot> loaded = readOnlyTx.execute(status -> load(restaurantId));
+        if (loaded.isEmpty()) {
+            // Unknown or deleted restaurant — nothing worth keeping
+            snapshots.invalidate(restaurantId);
+            return new MenuSnapshot(restaurantId, 0L, List.of(), new int[0]);
+        }
+        MenuSnapshot snapshot = loaded.get();
+        snapshots.asMap().compute(restaurantId, (id, current) -> generation.get() == expected ? snapshot : current);
+        return snapshot;
+    }
+
+    /** Version first: a write committing in between can only make the dishes newer than it. */
+    private Optional<MenuSnapshot> load(Long restaurantId) {
+        Optional<Long> menuVersion = restaurantRepository.findMenuVersionById(restaurantId);
+        if (menuVersion.isEmpty()) {
+            return Optional.empty();
+        }
+        List<DishResponse> dishes = readModel.findMenu(restaurantId);
+        int[] allergenMasks = new int[dishes.size()];
+        for (int i = 0; i < dishes.size(); i++) {
+            allergenMasks[i] = AllergenType.toMask(dishes.get(i).getAllergens());
+        }
+        return Optional.of(new MenuSnapshot(restaurantId, menuVersion.get(), dishes, allergenMasks));
+    }
+
+    private AtomicLong generation(Long restaurantId) {
+        return generations.get(restaurantId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,99 @@
+package com.safemenu.api.snapshot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.safemenu.api.config.MenuCacheProperties;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.repository.RestaurantRepository;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-restaurant menu versions, the basis of the strong ETags on menu reads.
+ *
+ * The persisted {@code restaurants.menu_version} is incremented inside the writing
+ * transaction, just before it commits, by {@link com.safemenu.api.service.MenuChangeLogService}. Known versions are held in memory so a conditional
+ * GET is answered without touching the database; they are dropped after every committed
+ * write — local or announced by another node — and reloaded on the next read. As in
+ * {@link MenuSnapshotRegistry}, a generation counter keeps a slow reload from caching
+ * a version that a concurrent write has already superseded.
+ *
+ * Only versions of existing restaurants are kept, and like snapshots they expire when idle
+ * ({@code safemenu.cache.snapshots.expire-after-access}). Generation counters are held
+ * weakly, so reads of unknown or deleted restaurants leave nothing behind.
+ */
+@Component
+public class MenuVersionRegistry {
+
+    private final RestaurantRepository restaurantRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Cache<Long, Long> versions;
+    private final Cache<Long, AtomicLong> generations = Caffeine.newBuilder().weakValues().build();
+
+    public MenuVersionRegistry(RestaurantRepository restaurantRepository,
+                               PlatformTransactionManager transactionManager, MenuCacheProperties properties) {
+        this.restaurantRepository = restaurantRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.versions = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getSnapshots().getExpireAfterAccess())
+                .build();
+    }
+
+    public long current(Long restaurantId) {
+        Long version = versions.getIfPresent(restaurantId);
+        return version != null ? version : reload(restaurantId);
+    }
+
+    /**
+     * Strong ETag for a menu read of {@code restaurantId}; {@code variant} distinguishes
+     * representations of the same resource (e.g. a gzip-encoded body), or is {@code null}.
+     */
+    public String etag(Long restaurantId, String variant) {
+        return etag(restaurantId, current(restaurantId), variant);
+    }
+
+    /**
+     * Strong ETag for a body built from {@code menuVersion} of the menu — callers that read
+     * the version before building the body tag it with exactly that version.
+     */
+    public static String etag(Long restaurantId, long menuVersion, String variant) {
+        String tag = restaurantId + "-" + menuVersion;
+        return "\"" + (variant == null ? tag : tag + "-" + variant) + "\"";
+    }
+
+    @Order(MenuChangedEvent.VERSION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        for (Long restaurantId : event.restaurantIds()) {
+            generation(restaurantId).incrementAndGet();
+            versions.invalidate(restaurantId);
+        }
+    }
+
+    private long reload(Long restaurantId) {
+        // Taken before the read so a write committing meanwhile is seen; held only by this call
+        AtomicLong generation = generation(restaurantId);
+        long expected = generation.get();
+        Long version = readOnlyTx.execute(status -> restaurantRepository.findMenuVersionById(restaurantId).orElse(null));
+        if (version == null) {
+            // Unknown or deleted restaurant — nothing worth remembering
+            versions.invalidate(restaurantId);
+            return 0L;
+        }
+        versions.asMap().compute(restaurantId, (id, current) -> generation.get() == expected ? version : current);
+        return version;
+    }
+
+    private AtomicLong generation(Long restaurantId) {
+        return generations.get(restaurantId, id -> new AtomicLong());
+    }
+}
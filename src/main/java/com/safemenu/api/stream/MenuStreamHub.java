@@ -0,0 +1,300 @@
+package com.safemenu.api.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.config.MenuStreamProperties;
+import com.safemenu.api.dto.response.MenuChangesResponse;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.exception.CapacityExceededException;
+import com.safemenu.api.exception.ResourceNotFoundException;
+import com.safemenu.api.repository.RestaurantRepository;
+import com.safemenu.api.service.MenuChangeLogService;
+import com.safemenu.api.snapshot.MenuVersionRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed menu changes to Server-Sent Events subscribers, per restaurant.
+ *
+ * Connections are async servlet responses, not threads: one dispatcher thread coalesces
+ * the changes of each window, reads the delta once per restaurant and per client version
+ * from {@link MenuChangeLogService}, and a small sender pool writes the serialized event
+ * to every subscriber. A subscriber still busy receiving an earlier event is skipped and
+ * later gets a single delta covering everything it missed, so a slow client never queues
+ * more than one event. Event ids are menu versions, which makes {@code Last-Event-ID}
+ * resume a change-log lookup.
+ */
+@Slf4j
+@Component
+public class MenuStreamHub {
+
+    static final String CHANGES_EVENT = "menu-changes";
+    static final String VERSION_EVENT = "menu-version";
+
+    private final MenuChangeLogService changeLog;
+    private final MenuVersionRegistry menuVersions;
+    private final RestaurantRepository restaurantRepository;
+    private final ObjectMapper objectMapper;
+    private final MenuStreamProperties properties;
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-stream-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    private Set<Long> dirty = new HashSet<>();
+
+    public MenuStreamHub(MenuChangeLogService changeLog, MenuVersionRegistry menuVersions,
+                         RestaurantRepository restaurantRepository, ObjectMapper objectMapper,
+                         MenuStreamProperties properties) {
+        this.changeLog = changeLog;
+        this.menuVersions = menuVersions;
+        this.restaurantRepository = restaurantRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        AtomicInteger senderIds = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "menu-stream-sender-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Opens a stream for {@code restaurantId}. A client resuming with {@code lastEventId}
+     * first receives everything that changed after that version.
+     */
+    public SseEmitter subscribe(Long restaurantId, Long lastEventId) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ResourceNotFoundException("Restaurant", restaurantId);
+        }
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new CapacityExceededException("Too many open menu streams, retry later");
+        }
+
+        long current = menuVersions.current(restaurantId);
+        Subscriber subscriber = new Subscriber(restaurantId, new SseEmitter(properties.getTimeout().toMillis()),
+                lastEventId != null ? lastEventId : current);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        boolean greet = lastEventId == null;
+        subscriber.sending.set(greet);
+        subscribers.compute(restaurantId, (id, audience) -> {
+            Set<Subscriber> set = audience != null ? audience : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+
+        if (greet) {
+            // Gives the client an id to resume from, even if nothing changes before it reconnects
+            deliver(subscriber, new Payload(current, VERSION_EVENT, "{\"version\":" + current + "}"));
+        } else if (lastEventId < current) {
+            markDirty(Set.of(restaurantId));
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        Set<Long> watched = new HashSet<>();
+        for (Long restaurantId : event.restaurantIds()) {
+            if (subscribers.containsKey(restaurantId)) {
+                watched.add(restaurantId);
+            }
+        }
+        if (!watched.isEmpty()) {
+            markDirty(watched);
+        }
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void markDirty(Set<Long> restaurantIds) {
+        boolean scheduleDispatch;
+        synchronized (this) {
+            scheduleDispatch = dirty.isEmpty();
+            dirty.addAll(restaurantIds);
+        }
+        if (scheduleDispatch && !dispatcher.isShutdown()) {
+            dispatcher.schedule(this::dispatch, properties.getCoalesceWindow().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void dispatch() {
+        Set<Long> batch;
+        synchronized (this) {
+            batch = dirty;
+            dirty = new HashSet<>();
+        }
+        Set<Long> retry = new HashSet<>();
+        for (Long restaurantId : batch) {
+            try {
+                if (dispatchRestaurant(restaurantId)) {
+                    retry.add(restaurantId);
+                }
+            } catch (RuntimeException e) {
+                // Subscribers were released; run the round again after the next window
+                log.warn("Menu stream dispatch failed for restaurant {}", restaurantId, e);
+                retry.add(restaurantId);
+            }
+        }
+        if (!retry.isEmpty()) {
+            markDirty(retry);
+        }
+    }
+
+    /**
+     * Returns whether some subscribers were busy and still need this round's changes. A failure
+     * to build or hand off a subscriber's event releases that subscriber before propagating.
+     */
+    private boolean dispatchRestaurant(Long restaurantId) {
+        Set<Subscriber> audience = subscribers.get(restaurantId);
+        if (audience == null || audience.isEmpty()) {
+            return false;
+        }
+        Map<Long, Payload> payloadsBySince = new HashMap<>();
+        boolean busy = false;
+        for (Subscriber subscriber : audience) {
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                busy = true;
+                continue;
+            }
+            try {
+                Payload payload = payloadsBySince.computeIfAbsent(subscriber.delivered.get(),
+                        since -> changesSince(restaurantId, since));
+                if (payload.version() <= subscriber.delivered.get()) {
+                    subscriber.sending.set(false);
+                    continue;
+                }
+                senders.execute(() -> deliver(subscriber, payload));
+            } catch (ResourceNotFoundException e) {
+                // Restaurant deleted — nothing more will ever be sent
+                audience.forEach(s -> s.emitter.complete());
+                return false;
+            } catch (RuntimeException e) {
+                subscriber.sending.set(false);
+                throw e;
+            }
+        }
+        return busy;
+    }
+
+    private Payload changesSince(Long restaurantId, long since) {
+        MenuChangesResponse changes = changeLog.findChanges(restaurantId, since);
+        try {
+            return new Payload(changes.getVersion(), CHANGES_EVENT, objectMapper.writeValueAsString(changes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize menu changes", e);
+        }
+    }
+
+    private void deliver(Subscriber subscriber, Payload payload) {
+        try {
+            send(subscriber, payload);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void send(Subscriber subscriber, Payload payload) {
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(payload.version()))
+                    .name(payload.name())
+                    .data(payload.json(), MediaType.APPLICATION_JSON));
+            subscriber.delivered.set(payload.version());
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks may not fire for a broken pipe
+            remove(subscriber);
+        }
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> audience : subscribers.values()) {
+            for (Subscriber subscriber : audience) {
+                if (subscriber.sending.compareAndSet(false, true)) {
+                    try {
+                        senders.execute(() -> {
+                            try {
+                                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                            } catch (IOException | IllegalStateException e) {
+                                remove(subscriber);
+                            } finally {
+                                subscriber.sending.set(false);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        subscriber.sending.set(false);
+                    }
+                }
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.restaurantId, (id, audience) -> {
+            removed.set(audience.remove(subscriber));
+            return audience.isEmpty() ? null : audience;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private record Payload(long version, String name, String json) {
+    }
+
+    private static final class Subscriber {
+
+        private final Long restaurantId;
+        private final SseEmitter emitter;
+        private final AtomicLong delivered;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(Long restaurantId, SseEmitter emitter, long delivered) {
+            this.restaurantId = restaurantId;
+            this.emitter = emitter;
+            this.delivered = new AtomicLong(delivered);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- V4__menu_version.sql (H2 variant)
+-- Monotonic per-restaurant menu version, bumped in the same transaction as every menu write.
+-- Backs strong ETags on the menu read endpoints.
+
+ALTER TABLE restaurants ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+-- V6__pooled_sequences.sql (H2 variant)
+-- Sequence-based ids with pooled allocation (INCREMENT BY 50, matching Hibernate's default
+-- allocation size): the application reserves 50 ids per round trip and can batch inserts.
+-- Each sequence restarts past the current maximum id; the old identity defaults stay in
+-- place but are no longer used by the application.
+
+CREATE SEQUENCE restaurants_seq INCREMENT BY 50;
+ALTER SEQUENCE restaurants_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM restaurants);
+
+CREATE SEQUENCE menu_categories_seq INCREMENT BY 50;
+ALTER SEQUENCE menu_categories_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM menu_categories);
+
+CREATE SEQUENCE ingredients_seq INCREMENT BY 50;
+ALTER SEQUENCE ingredients_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM ingredients);
+
+CREATE SEQUENCE dishes_seq INCREMENT BY 50;
+ALTER SEQUENCE dishes_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM dishes);
+
+CREATE SEQUENCE menu_changes_seq INCREMENT BY 50;
+ALTER SEQUENCE menu_changes_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM menu_changes);
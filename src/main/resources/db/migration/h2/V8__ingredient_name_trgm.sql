@@ -0,0 +1,3 @@
+-- V8__ingredient_name_trgm.sql (H2 variant)
+-- The PostgreSQL variant adds a pg_trgm index for database-backed ingredient typeahead.
+-- H2 has no trigram indexes; the in-memory search engine (the default) needs none.
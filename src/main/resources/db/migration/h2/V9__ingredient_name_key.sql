@@ -0,0 +1,7 @@
+-- V9__ingredient_name_key.sql (H2 variant)
+-- Lower-cased ingredient name, kept by the database, so the importer can match a chunk
+-- of names case-insensitively through an index. H2 cannot index LOWER(name) directly.
+
+ALTER TABLE ingredients ADD COLUMN name_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+
+CREATE INDEX idx_ingredients_name_key ON ingredients(name_key);
@@ -0,0 +1,52 @@
+-- V3__allergen_mask.sql
+-- Persisted allergen bitmask: bit (1 << ordinal) per AllergenType, declaration order.
+
+ALTER TABLE ingredients ADD COLUMN allergen_mask INT NOT NULL DEFAULT 0;
+ALTER TABLE dishes ADD COLUMN allergen_mask INT NOT NULL DEFAULT 0;
+
+-- Each (ingredient, allergen) pair is unique, so a plain SUM equals the bitwise OR
+UPDATE ingredients SET allergen_mask = COALESCE((
+    SELECT SUM(CASE ia.allergen
+                   WHEN 'CELERY' THEN 1
+                   WHEN 'CEREALS_WITH_GLUTEN' THEN 2
+                   WHEN 'CRUSTACEANS' THEN 4
+                   WHEN 'EGGS' THEN 8
+                   WHEN 'FISH' THEN 16
+                   WHEN 'LUPIN' THEN 32
+                   WHEN 'MILK' THEN 64
+                   WHEN 'MOLLUSCS' THEN 128
+                   WHEN 'MUSTARD' THEN 256
+                   WHEN 'NUTS' THEN 512
+                   WHEN 'PEANUTS' THEN 1024
+                   WHEN 'SESAME' THEN 2048
+                   WHEN 'SOYBEANS' THEN 4096
+                   WHEN 'SULPHUR_DIOXIDE' THEN 8192
+               END)
+    FROM ingredient_allergens ia
+    WHERE ia.ingredient_id = ingredients.id
+), 0);
+
+-- Ingredients of a dish can share allergens — SUM(DISTINCT) of single bits is their OR
+UPDATE dishes SET allergen_mask = COALESCE((
+    SELECT SUM(DISTINCT CASE ia.allergen
+                   WHEN 'CELERY' THEN 1
+                   WHEN 'CEREALS_WITH_GLUTEN' THEN 2
+                   WHEN 'CRUSTACEANS' THEN 4
+                   WHEN 'EGGS' THEN 8
+                   WHEN 'FISH' THEN 16
+                   WHEN 'LUPIN' THEN 32
+                   WHEN 'MILK' THEN 64
+                   WHEN 'MOLLUSCS' THEN 128
+                   WHEN 'MUSTARD' THEN 256
+                   WHEN 'NUTS' THEN 512
+                   WHEN 'PEANUTS' THEN 1024
+                   WHEN 'SESAME' THEN 2048
+                   WHEN 'SOYBEANS' THEN 4096
+                   WHEN 'SULPHUR_DIOXIDE' THEN 8192
+               END)
+    FROM dish_ingredients di
+    JOIN ingredient_allergens ia ON ia.ingredient_id = di.ingredient_id
+    WHERE di.dish_id = dishes.id
+), 0);
+
+CREATE INDEX idx_dishes_category_allergen_mask ON dishes(category_id, is_available, allergen_mask);
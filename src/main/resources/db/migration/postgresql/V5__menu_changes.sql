@@ -0,0 +1,21 @@
+-- V5__menu_changes.sql
+-- Compacted per-restaurant change log behind the menu delta-sync endpoint.
+-- menu_change_floor: newest version whose tombstones were purged; clients that last synced
+-- before it must reload the full menu.
+
+ALTER TABLE restaurants ADD COLUMN menu_change_floor BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE menu_changes (
+    id              BIGSERIAL PRIMARY KEY,
+    restaurant_id   BIGINT NOT NULL,
+    menu_version    BIGINT NOT NULL,
+    entity_type     VARCHAR(20) NOT NULL,
+    entity_id       BIGINT NOT NULL,
+    change_type     VARCHAR(20) NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      TIMESTAMP,
+    FOREIGN KEY (restaurant_id) REFERENCES restaurants(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_menu_changes_restaurant_version ON menu_changes(restaurant_id, menu_version);
+CREATE INDEX idx_menu_changes_entity ON menu_changes(restaurant_id, entity_type, entity_id);
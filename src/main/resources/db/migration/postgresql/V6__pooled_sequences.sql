@@ -0,0 +1,20 @@
+-- V6__pooled_sequences.sql
+-- Sequence-based ids with pooled allocation (INCREMENT BY 50, matching Hibernate's default
+-- allocation size): the application reserves 50 ids per round trip and can batch inserts.
+-- Each sequence continues past the current maximum id; the old serial defaults stay in
+-- place but are no longer used by the application.
+
+CREATE SEQUENCE restaurants_seq INCREMENT BY 50;
+SELECT setval('restaurants_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM restaurants), false);
+
+CREATE SEQUENCE menu_categories_seq INCREMENT BY 50;
+SELECT setval('menu_categories_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM menu_categories), false);
+
+CREATE SEQUENCE ingredients_seq INCREMENT BY 50;
+SELECT setval('ingredients_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM ingredients), false);
+
+CREATE SEQUENCE dishes_seq INCREMENT BY 50;
+SELECT setval('dishes_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM dishes), false);
+
+CREATE SEQUENCE menu_changes_seq INCREMENT BY 50;
+SELECT setval('menu_changes_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM menu_changes), false);
@@ -0,0 +1,6 @@
+-- V7__menu_keyset_indexes.sql
+-- Keyset pagination walks menus in (category display_order, dish id) order; these indexes
+-- let each page seek straight to its cursor instead of skipping an offset.
+
+CREATE INDEX idx_menu_categories_restaurant_order ON menu_categories(restaurant_id, display_order, id);
+CREATE INDEX idx_dishes_category_id ON dishes(category_id, id);
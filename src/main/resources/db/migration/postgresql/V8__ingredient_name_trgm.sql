@@ -0,0 +1,7 @@
+-- V8__ingredient_name_trgm.sql
+-- Trigram index for ingredient typeahead when safemenu.search.engine=database:
+-- lower(name) LIKE '%query%' becomes an index lookup instead of a table scan.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_ingredients_name_trgm ON ingredients USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,8 @@
+-- V9__ingredient_name_key.sql
+-- Lower-cased ingredient name, kept by the database, so the importer can match a chunk
+-- of names case-insensitively through an index. A stored column rather than an
+-- expression index keeps the query identical to the H2 variant.
+
+ALTER TABLE ingredients ADD COLUMN name_key VARCHAR(255) GENERATED ALWAYS AS (lower(name)) STORED;
+
+CREATE INDEX idx_ingredients_name_key ON ingredients(name_key);
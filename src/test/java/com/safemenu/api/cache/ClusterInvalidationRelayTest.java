@@ -0,0 +1,75 @@
+package com.safemenu.api.cache;
+
+import com.safemenu.api.config.MenuCacheProperties;
+import com.safemenu.api.event.MenuChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ClusterInvalidationRelayTest {
+
+    private final LoopbackInvalidationBus bus = new LoopbackInvalidationBus();
+    private final List<Object> published = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> publishingThreads = Collections.synchronizedList(new ArrayList<>());
+    private final List<InvalidationMessage> sent = new ArrayList<>();
+
+    private ClusterInvalidationRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ClusterInvalidationRelay(bus, event -> {
+            publishingThreads.add(Thread.currentThread().getName());
+            published.add(event);
+        }, new MenuCacheProperties());
+        relay.subscribe();
+        bus.subscribe(sent::add);
+    }
+
+    @Test
+    void shouldBatchLocalChangesIntoOneMessage() {
+        relay.onMenuChanged(MenuChangedEvent.of(1L));
+        relay.onMenuChanged(MenuChangedEvent.of(2L, 1L));
+        relay.flush();
+
+        assertThat(sent).singleElement().satisfies(message -> {
+            assertThat(message.originNodeId()).isEqualTo(relay.getNodeId());
+            assertThat(message.restaurantIds()).containsExactlyInAnyOrder(1L, 2L);
+        });
+        // Own messages come back over the bus but are not replayed
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldReplayMessagesFromOtherNodesAsRemoteEvents() {
+        bus.publish(new InvalidationMessage("other-node", Set.of(7L)));
+
+        await().untilAsserted(() -> assertThat(published).containsExactly(MenuChangedEvent.remote(Set.of(7L))));
+        // Replayed off the bus's receiving thread
+        assertThat(publishingThreads).containsExactly("menu-invalidation-replay");
+    }
+
+    @Test
+    void shouldNotRebroadcastRemoteEvents() {
+        relay.onMenuChanged(MenuChangedEvent.remote(Set.of(7L)));
+        relay.flush();
+
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void shouldRoundTripPostgresPayloads() {
+        InvalidationMessage message = new InvalidationMessage("node-a", Set.of(1L, 22L, 333L));
+
+        List<String> payloads = PostgresInvalidationBus.encode(message);
+
+        assertThat(payloads).hasSize(1);
+        assertThat(PostgresInvalidationBus.decode(payloads.get(0))).isEqualTo(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.safemenu.api.cache;
+
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.service.MenuCacheKey;
+import com.safemenu.api.service.MenuCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuCacheInvalidatorTest {
+
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager("restaurantMenus", "safeDishes");
+
+    private final MenuCacheInvalidator invalidator = new MenuCacheInvalidator(cacheManager);
+
+    @Test
+    void shouldEvictOnlyEntriesOfChangedRestaurant() {
+        Cache menus = cacheManager.getCache("restaurantMenus");
+        Cache safeDishes = cacheManager.getCache("safeDishes");
+        menus.put(menuKey(1L), "menu of 1");
+        menus.put(menuKey(11L), "menu of 11");
+        safeDishes.put(safeKey(1L, 0b10), "safe at 1");
+        safeDishes.put(safeKey(2L, 0b110), "safe at 2");
+
+        invalidator.onMenuChanged(MenuChangedEvent.of(1L));
+
+        assertThat(menus.get(menuKey(1L))).isNull();
+        assertThat(safeDishes.get(safeKey(1L, 0b10))).isNull();
+        assertThat(menus.get(menuKey(11L))).isNotNull();
+        assertThat(safeDishes.get(safeKey(2L, 0b110))).isNotNull();
+    }
+
+    private static MenuCacheKey menuKey(long restaurantId) {
+        return new MenuCacheKey(MenuCacheKey.MENU, restaurantId, 0L, 0, MenuCursor.START, 20, false);
+    }
+
+    private static MenuCacheKey safeKey(long restaurantId, int excludedMask) {
+        return new MenuCacheKey(MenuCacheKey.SAFE, restaurantId, 0L, excludedMask, MenuCursor.START, 20, false);
+    }
+}
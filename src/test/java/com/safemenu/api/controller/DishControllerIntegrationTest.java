@@ -1,18 +1,33 @@
 package com.safemenu.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.request.PartySafeDishesRequest;
+import com.safemenu.api.enums.AllergenType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +42,12 @@ class DishControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Test
     @DisplayName("GET /api/v1/dishes/{id} — returns dish with auto-computed allergens")
     void shouldReturnDishWithAllergens() throws Exception {
@@ -47,22 +68,134 @@ class DishControllerIntegrationTest {
                         .param("restaurantId", "1")
                         .param("exclude", "MILK"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[*].name", not(hasItem("Chicken Supreme"))))
-                .andExpect(jsonPath("$[*].name", not(hasItem("Chocolate Fondant"))))
-                .andExpect(jsonPath("$[*].name", hasItem("Prawn Cocktail")))
-                .andExpect(jsonPath("$[*].name", hasItem("Sesame Salmon Bowl")));
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Chicken Supreme"))))
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Chocolate Fondant"))))
+                .andExpect(jsonPath("$.content[*].name", hasItem("Prawn Cocktail")))
+                .andExpect(jsonPath("$.content[*].name", hasItem("Sesame Salmon Bowl")));
     }
 
     @Test
-    @DisplayName("GET /api/v1/dishes/restaurant/{id} — returns paginated menu")
+    @DisplayName("POST /api/v1/dishes/safe/party — per-guest safe dishes and the party-wide intersection")
+    void shouldReturnSafeDishesForParty() throws Exception {
+        PartySafeDishesRequest party = PartySafeDishesRequest.builder()
+                .restaurantId(1L)
+                .guests(List.of(
+                        PartySafeDishesRequest.Guest.builder().name("Aoife").exclude(Set.of(AllergenType.MILK)).build(),
+                        PartySafeDishesRequest.Guest.builder().name("Bram").exclude(Set.of(AllergenType.CRUSTACEANS)).build(),
+                        PartySafeDishesRequest.Guest.builder().name("Cleo").build()))
+                .build();
+
+        JsonNode response = objectMapper.readTree(mockMvc.perform(post("/api/v1/dishes/safe/party")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(party)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.guests[*].name", contains("Aoife", "Bram", "Cleo")))
+                .andExpect(jsonPath("$.guests[0].exclude", contains("MILK")))
+                .andReturn().getResponse().getContentAsString());
+
+        // Each guest's list must match the single-guest endpoint
+        List<List<Long>> perGuest = new ArrayList<>();
+        for (JsonNode guest : response.get("guests")) {
+            List<Long> ids = new ArrayList<>();
+            guest.get("safeDishIds").forEach(id -> ids.add(id.asLong()));
+            perGuest.add(ids);
+        }
+        assertThat(perGuest.get(0)).containsExactlyElementsOf(safeDishIds("MILK"));
+        assertThat(perGuest.get(1)).containsExactlyElementsOf(safeDishIds("CRUSTACEANS"));
+
+        List<Long> everyone = new ArrayList<>();
+        response.get("safeForEveryone").forEach(id -> everyone.add(id.asLong()));
+        List<Long> expected = new ArrayList<>(perGuest.get(0));
+        expected.retainAll(perGuest.get(1));
+        expected.retainAll(perGuest.get(2));
+        assertThat(everyone).isNotEmpty().containsExactlyElementsOf(expected);
+
+        List<Long> dishes = new ArrayList<>();
+        response.get("dishes").forEach(dish -> dishes.add(dish.get("id").asLong()));
+        assertThat(dishes).doesNotHaveDuplicates().containsAll(perGuest.get(0)).containsAll(perGuest.get(1));
+
+        mockMvc.perform(post("/api/v1/dishes/safe/party")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PartySafeDishesRequest.builder().restaurantId(1L).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> safeDishIds(String exclude) throws Exception {
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/v1/dishes/safe")
+                        .param("restaurantId", "1")
+                        .param("exclude", exclude)
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        page.get("content").forEach(dish -> ids.add(dish.get("id").asLong()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id} — walks the menu with continuation cursors")
     void shouldReturnPaginatedMenu() throws Exception {
-        mockMvc.perform(get("/api/v1/dishes/restaurant/1")
-                        .param("page", "0")
-                        .param("size", "3"))
+        String first = mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                        .param("size", "3")
+                        .param("includeTotal", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.hasNext").value(true))
                 .andExpect(jsonPath("$.totalElements").value(7))
-                .andExpect(jsonPath("$.totalPages").value(3));
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        JsonNode page = objectMapper.readTree(first);
+        while (true) {
+            page.get("content").forEach(dish -> seen.add(dish.get("id").asLong()));
+            if (!page.get("hasNext").asBoolean()) {
+                break;
+            }
+            cursor = page.get("nextCursor").asText();
+            page = objectMapper.readTree(mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                            .param("size", "3")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+        }
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/safe — in-memory snapshot lists page with the same cursors")
+    void shouldPageSnapshotLists() throws Exception {
+        String first = mockMvc.perform(get("/api/v1/dishes/safe")
+                        .param("restaurantId", "1")
+                        .param("exclude", "PEANUTS")
+                        .param("size", "2")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode page = objectMapper.readTree(first);
+        long total = page.get("totalElements").asLong();
+
+        String second = mockMvc.perform(get("/api/v1/dishes/safe")
+                        .param("restaurantId", "1")
+                        .param("exclude", "PEANUTS")
+                        .param("size", "100")
+                        .param("cursor", page.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode rest = objectMapper.readTree(second);
+        assertThat(rest.get("content").size()).isEqualTo(total - 2);
+        assertThat(rest.get("content").get(0).get("id").asLong())
+                .isNotIn(page.get("content").get(0).get("id").asLong(), page.get("content").get(1).get("id").asLong());
     }
 
     @Test
@@ -85,6 +218,24 @@ class DishControllerIntegrationTest {
                 .andExpect(jsonPath("$.allergens", containsInAnyOrder("CRUSTACEANS", "PEANUTS")));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/dishes/bulk — reports rejected rows by index")
+    void shouldReportBulkImportRowErrors() throws Exception {
+        List<DishRequest> rows = List.of(
+                DishRequest.builder().name("").price(new BigDecimal("5.00")).categoryId(1L).build(),
+                DishRequest.builder().name("Ghost Dish").price(new BigDecimal("5.00")).categoryId(999_999L).build());
+
+        mockMvc.perform(post("/api/v1/dishes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rows)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].message", containsString("name")))
+                .andExpect(jsonPath("$.errors[1].message", containsString("999999")));
+    }
+
     @Test
     @DisplayName("POST /api/v1/dishes — validation rejects missing required fields")
     void shouldRejectInvalidDish() throws Exception {
@@ -141,4 +292,169 @@ class DishControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.available").value(true));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id}/vegetarian — reflects availability toggles immediately")
+    void shouldRefreshVegetarianMenuAfterToggle() throws Exception {
+        // Dish 2 = Tomato Bruschetta (vegetarian)
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1/vegetarian"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Tomato Bruschetta")));
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1/vegetarian"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Tomato Bruschetta"))));
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id} — serves precompressed bytes to gzip clients")
+    void shouldServeGzipMenuPage() throws Exception {
+        byte[] gzip = mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            JsonNode page = objectMapper.readTree(in);
+            assertThat(page.path("content").size()).isGreaterThan(0);
+        }
+
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.content[0].name").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id} — gzip refused by q=0 or offered only as x-gzip is not sent")
+    void shouldHonourRefusedGzip() throws Exception {
+        String gzipTag = mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (String acceptEncoding : List.of("gzip;q=0, deflate", "x-gzip", "*;q=1, gzip; q=0.000")) {
+            String identityTag = mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(jsonPath("$.content[0].name").isNotEmpty())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(identityTag).isNotNull().isNotEqualTo(gzipTag);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/safe — cached response bytes are evicted on menu changes")
+    void shouldRefreshSerializedSafeDishesAfterToggle() throws Exception {
+        // Dish 2 = Tomato Bruschetta, safe for PEANUTS
+        mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Tomato Bruschetta")));
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Tomato Bruschetta"))));
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id} — 304 for the current menu version, new ETag after a write")
+    void shouldHonourIfNoneMatchUntilMenuChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/dishes/restaurant/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+
+        String changed = mockMvc.perform(get("/api/v1/dishes/restaurant/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/restaurant/{id} and /safe — 304 without loading or encoding an evicted body")
+    void shouldHonourIfNoneMatchWithoutCachedBody() throws Exception {
+        String menuTag = mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String safeTag = mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        List.of("menuResponses", "restaurantMenus", "safeDishes").forEach(name -> cacheManager.getCache(name).clear());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/dishes/restaurant/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, menuTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, menuTag));
+        mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS")
+                        .header(HttpHeaders.IF_NONE_MATCH, safeTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(menuResponses()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/dishes/safe — a response re-cached late from the old menu is never served under the new ETag")
+    void shouldNotServeStaleSafeDishesCachedAfterEviction() throws Exception {
+        // Dish 2 = Tomato Bruschetta, safe for PEANUTS
+        String etag = mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("Tomato Bruschetta")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Map<Object, Object> stale = new HashMap<>(menuResponses());
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+        // A read that started before the write stores its old body after the eviction
+        menuResponses().putAll(stale);
+
+        String changed = mockMvc.perform(get("/api/v1/dishes/safe").param("restaurantId", "1").param("exclude", "PEANUTS")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Tomato Bruschetta"))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(patch("/api/v1/dishes/2/toggle-availability"))
+                .andExpect(status().isOk());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> menuResponses() {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>)
+                cacheManager.getCache("menuResponses").getNativeCache()).asMap();
+    }
 }
@@ -0,0 +1,200 @@
+package com.safemenu.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.dto.request.CategoryRequest;
+import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.request.IngredientRequest;
+import com.safemenu.api.dto.request.RestaurantRequest;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.repository.IngredientRepository;
+import com.safemenu.api.search.DatabaseIngredientSearch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IngredientControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Test
+    @DisplayName("POST /api/v1/ingredients/import — upserts the catalog and re-tags dishes")
+    void shouldImportIngredientCatalog() throws Exception {
+        Long ingredientId = idOf(mockMvc.perform(post("/api/v1/ingredients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder()
+                                .name("Catalog Pesto").allergens(Set.of(AllergenType.NUTS)).build())))
+                .andExpect(status().isCreated()));
+        Long restaurantId = idOf(mockMvc.perform(post("/api/v1/restaurants")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RestaurantRequest.builder()
+                                .name("Import Inn").address("3 Catalog Road, Galway").build())))
+                .andExpect(status().isCreated()));
+        Long categoryId = idOf(mockMvc.perform(post("/api/v1/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CategoryRequest.builder()
+                                .name("Pasta").displayOrder(1).restaurantId(restaurantId).build())))
+                .andExpect(status().isCreated()));
+        Long dishId = idOf(mockMvc.perform(post("/api/v1/dishes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(DishRequest.builder()
+                                .name("Pesto Linguine").price(new BigDecimal("14.00"))
+                                .categoryId(categoryId).ingredientIds(Set.of(ingredientId)).build())))
+                .andExpect(status().isCreated()));
+
+        String csv = """
+                name,description,allergens
+                catalog pesto,"Basil, pine nuts, parmesan",NUTS;MILK
+                Catalog Harissa,Chilli paste,
+                Catalog Tahini,"Sesame paste \"\"light\"\"",SESAME
+                Catalog Harissa,Smoked chilli paste,MUSTARD
+                ,No name,
+                Catalog Mystery,,UNICORN
+                Catalog Miso,Fermented soy,soybeans|cereals_with_gluten
+                """.replace("\n", "\r\n");
+        String accepted = mockMvc.perform(multipart("/api/v1/ingredients/import")
+                        .file(new MockMultipartFile("file", "catalog.csv", "text/csv",
+                                csv.getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(accepted).get("jobId").asText();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> !job(jobId).get("status").asText().matches("QUEUED|RUNNING"));
+        JsonNode job = job(jobId);
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("rowsRead").asLong()).isEqualTo(7);
+        assertThat(job.get("inserted").asLong()).isEqualTo(3);
+        assertThat(job.get("updated").asLong()).isEqualTo(1);
+        assertThat(job.get("duplicates").asLong()).isEqualTo(1);
+        assertThat(job.get("rejected").asLong()).isEqualTo(2);
+        assertThat(job.get("dishesUpdated").asLong()).isEqualTo(1);
+        assertThat(job.get("errors").findValuesAsText("index")).containsExactly("6", "7");
+
+        mockMvc.perform(get("/api/v1/ingredients/" + ingredientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Catalog Pesto"))
+                .andExpect(jsonPath("$.description").value("Basil, pine nuts, parmesan"))
+                .andExpect(jsonPath("$.allergens", containsInAnyOrder("NUTS", "MILK")));
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "Catalog Harissa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").value("Smoked chilli paste"))
+                .andExpect(jsonPath("$[0].allergens", contains("MUSTARD")));
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "Catalog Miso"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].allergens", containsInAnyOrder("SOYBEANS", "CEREALS_WITH_GLUTEN")));
+        // The importer writes over JDBC; the dish's shared ingredient follows the bumped updated_at
+        mockMvc.perform(get("/api/v1/dishes/" + dishId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allergens", containsInAnyOrder("NUTS", "MILK")))
+                .andExpect(jsonPath("$.ingredients[0].description").value("Basil, pine nuts, parmesan"))
+                .andExpect(jsonPath("$.ingredients[0].allergens", containsInAnyOrder("NUTS", "MILK")));
+
+        // Ids come from ingredients_seq, so regular creates carry on without clashing
+        mockMvc.perform(post("/api/v1/ingredients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder()
+                                .name("Catalog Capers").build())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/ingredients/search — ranked typeahead that follows creates, renames and deletes")
+    void shouldServeRankedTypeahead() throws Exception {
+        Long smoked = idOf(mockMvc.perform(post("/api/v1/ingredients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder()
+                                .name("Smoked Quorzel Salt").build())))
+                .andExpect(status().isCreated()));
+        Long quorzel = idOf(mockMvc.perform(post("/api/v1/ingredients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder()
+                                .name("Quorzel Flakes").build())))
+                .andExpect(status().isCreated()));
+
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "quorz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(quorzel.intValue(), smoked.intValue())));
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "quorz").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(quorzel.intValue())));
+
+        mockMvc.perform(put("/api/v1/ingredients/" + quorzel)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder()
+                                .name("Sea Flakes").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/ingredients/" + smoked))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "quorz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "sea fla"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(quorzel.intValue()));
+        mockMvc.perform(get("/api/v1/ingredients/search").param("query", "sea").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Database typeahead — ranks name prefixes, then word prefixes, then substrings")
+    void shouldRankDatabaseTypeaheadByTier() throws Exception {
+        Long substring = createIngredient("Avelmorq Paste");
+        Long wordPrefix = createIngredient("Black Velmorq");
+        Long namePrefix = createIngredient("Velmorq Oil");
+
+        assertThat(new DatabaseIngredientSearch(ingredientRepository).search("  VELMORQ ", 10))
+                .containsExactly(namePrefix, wordPrefix, substring);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/ingredients/import/{jobId} — unknown job returns 404")
+    void shouldReturn404ForUnknownImportJob() throws Exception {
+        mockMvc.perform(get("/api/v1/ingredients/import/no-such-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode job(String jobId) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/v1/ingredients/import/" + jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private Long createIngredient(String name) throws Exception {
+        return idOf(mockMvc.perform(post("/api/v1/ingredients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(IngredientRequest.builder().name(name).build())))
+                .andExpect(status().isCreated()));
+    }
+
+    private Long idOf(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+}
@@ -1,15 +1,30 @@
 package com.safemenu.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.dto.request.CategoryRequest;
+import com.safemenu.api.dto.request.DishRequest;
 import com.safemenu.api.dto.request.RestaurantRequest;
+import com.safemenu.api.service.MenuChangeLogService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,13 +39,205 @@ class RestaurantControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MenuChangeLogService changeLogService;
+
     @Test
-    @DisplayName("GET /api/v1/restaurants — returns all restaurants")
+    @DisplayName("GET /api/v1/restaurants — returns a page of restaurants with aggregate counts")
     void shouldReturnAllRestaurants() throws Exception {
         mockMvc.perform(get("/api/v1/restaurants"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))))
-                .andExpect(jsonPath("$[0].name").value("The Green Kitchen"));
+                .andExpect(jsonPath("$.content", hasSize(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.content[0].name").value("The Green Kitchen"))
+                .andExpect(jsonPath("$.content[0].categoryCount", greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.content[0].dishCount", greaterThanOrEqualTo(7)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants?active=false — filters by active status")
+    void shouldFilterRestaurantsByActiveStatus() throws Exception {
+        mockMvc.perform(get("/api/v1/restaurants").param("active", "true").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].active").value(true));
+
+        mockMvc.perform(get("/api/v1/restaurants").param("active", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].active", everyItem(is(false))));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/safe — ranks restaurants by dishes safe for the exclusions")
+    void shouldFindRestaurantsWithSafeDishes() throws Exception {
+        // Without MILK, The Green Kitchen still serves Prawn Cocktail, Tomato Bruschetta and Sesame Salmon Bowl
+        mockMvc.perform(get("/api/v1/restaurants/safe")
+                        .param("exclude", "MILK")
+                        .param("minSafeDishes", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].restaurantName").value("The Green Kitchen"))
+                .andExpect(jsonPath("$[0].safeDishCount", greaterThanOrEqualTo(3)));
+
+        mockMvc.perform(get("/api/v1/restaurants/safe")
+                        .param("exclude", "MILK")
+                        .param("minSafeDishes", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/safe — follows menu writes restaurant by restaurant")
+    void shouldKeepSafeSearchCurrentAfterMenuWrites() throws Exception {
+        mockMvc.perform(get("/api/v1/restaurants/safe").param("exclude", "MILK").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        Long restaurantId = idOf(mockMvc.perform(post("/api/v1/restaurants")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RestaurantRequest.builder()
+                                .name("Epsilon Eatery").address("5 Index Lane, Galway").build())))
+                .andExpect(status().isCreated()));
+        Long categoryId = idOf(mockMvc.perform(post("/api/v1/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CategoryRequest.builder()
+                                .name("Breads").displayOrder(1).restaurantId(restaurantId).build())))
+                .andExpect(status().isCreated()));
+        Long dishId = idOf(mockMvc.perform(post("/api/v1/dishes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(DishRequest.builder()
+                                .name("Soda Bread").price(new BigDecimal("4.00"))
+                                .categoryId(categoryId).ingredientIds(Set.of(1L)).build())))
+                .andExpect(status().isCreated()));
+
+        mockMvc.perform(get("/api/v1/restaurants/safe").param("exclude", "MILK").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].restaurantName", hasItem("Epsilon Eatery")))
+                .andExpect(jsonPath("$[*].restaurantName", hasItem("The Green Kitchen")));
+
+        mockMvc.perform(delete("/api/v1/dishes/" + dishId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/restaurants/safe").param("exclude", "MILK").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].restaurantName", not(hasItem("Epsilon Eatery"))))
+                .andExpect(jsonPath("$[*].restaurantName", hasItem("The Green Kitchen")));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/safe — rejects a limit or minimum below one")
+    void shouldRejectNonPositiveSafeSearchBounds() throws Exception {
+        mockMvc.perform(get("/api/v1/restaurants/safe").param("exclude", "MILK").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/restaurants/safe").param("exclude", "MILK").param("minSafeDishes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/{id}/menu/changes — upserts and tombstones since a version")
+    void shouldReturnMenuChangesSinceVersion() throws Exception {
+        Long restaurantId = idOf(mockMvc.perform(post("/api/v1/restaurants")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(RestaurantRequest.builder()
+                                .name("Delta Diner").address("2 Sync Street, Cork").build())))
+                .andExpect(status().isCreated()));
+        Long categoryId = idOf(mockMvc.perform(post("/api/v1/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CategoryRequest.builder()
+                                .name("Specials").displayOrder(1).restaurantId(restaurantId).build())))
+                .andExpect(status().isCreated()));
+        Long dishId = idOf(mockMvc.perform(post("/api/v1/dishes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(DishRequest.builder()
+                                .name("Sync Soup").price(new BigDecimal("6.00"))
+                                .categoryId(categoryId).ingredientIds(Set.of(1L)).build())))
+                .andExpect(status().isCreated()));
+
+        String initial = mockMvc.perform(get("/api/v1/restaurants/" + restaurantId + "/menu/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(false))
+                .andExpect(jsonPath("$.dishes[*].id", contains(dishId.intValue())))
+                .andExpect(jsonPath("$.categories[*].id", contains(categoryId.intValue())))
+                .andReturn().getResponse().getContentAsString();
+        long version = objectMapper.readTree(initial).get("version").asLong();
+
+        mockMvc.perform(delete("/api/v1/dishes/" + dishId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/restaurants/" + restaurantId + "/menu/changes")
+                        .param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", greaterThan((int) version)))
+                .andExpect(jsonPath("$.dishes", hasSize(0)))
+                .andExpect(jsonPath("$.deletedDishIds", contains(dishId.intValue())))
+                .andExpect(jsonPath("$.categories[0].dishCount").value(0));
+
+        // Once the tombstone is purged, a client this far behind must reload the menu
+        changeLogService.purgeTombstonesBefore(LocalDateTime.now().plusMinutes(1));
+
+        mockMvc.perform(get("/api/v1/restaurants/" + restaurantId + "/menu/changes")
+                        .param("since", String.valueOf(version)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/{id}/menu/export — one NDJSON line per dish")
+    void shouldExportMenuAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/restaurants/1/menu/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = body.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        assertThat(lines).hasSize(7);
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("restaurantId").asLong()).isEqualTo(1L));
+        JsonNode prawnCocktail = lines.stream().filter(line -> line.get("id").asLong() == 1L).findFirst().orElseThrow();
+        assertThat(prawnCocktail.get("allergens").toString()).contains("CRUSTACEANS", "EGGS");
+        assertThat(prawnCocktail.get("ingredients").size()).isGreaterThan(0);
+
+        mockMvc.perform(get("/api/v1/restaurants/menu/export").param("ids", "1", "9999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/restaurants/{id}/menu/stream — coalesced change events and Last-Event-ID resume")
+    void shouldStreamCoalescedMenuChanges() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/api/v1/restaurants/1/menu/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        await().atMost(Duration.ofSeconds(5)).until(() -> stream.getContentAsString().contains("event:menu-version"));
+        String greeting = stream.getContentAsString();
+        long version = Long.parseLong(greeting.substring(greeting.indexOf("id:") + 3, greeting.indexOf('\n')));
+
+        // Two quick toggles of dish 3 fall into one coalescing window
+        mockMvc.perform(patch("/api/v1/dishes/3/toggle-availability")).andExpect(status().isOk());
+        mockMvc.perform(patch("/api/v1/dishes/3/toggle-availability")).andExpect(status().isOk());
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> stream.getContentAsString().contains("event:menu-changes"));
+        Thread.sleep(500);
+        String events = stream.getContentAsString();
+        assertThat(events.split("event:menu-changes", -1)).hasSize(2);
+        assertThat(events).contains("\"id\":3");
+
+        // A reconnecting client replays what it missed since its last event
+        MockHttpServletResponse resumed = mockMvc.perform(get("/api/v1/restaurants/1/menu/stream")
+                        .header("Last-Event-ID", version))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        // The event name is flushed ahead of its data line, so wait for the payload itself
+        await().atMost(Duration.ofSeconds(5)).until(() -> resumed.getContentAsString().contains("\"id\":3"));
+        assertThat(resumed.getContentAsString()).contains("event:menu-changes");
+    }
+
+    private Long idOf(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("id").asLong();
     }
 
     @Test
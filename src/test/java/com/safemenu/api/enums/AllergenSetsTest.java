@@ -0,0 +1,46 @@
+package com.safemenu.api.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AllergenSetsTest {
+
+    @Test
+    @DisplayName("Every mask maps to the same warning the streaming implementation produced")
+    void shouldMatchStreamedTextForEveryMask() {
+        for (int mask = 0; mask < AllergenSets.SET_COUNT; mask++) {
+            Set<AllergenType> allergens = AllergenType.fromMask(mask);
+
+            assertThat(AllergenSets.warning(mask)).isEqualTo(allergens.isEmpty()
+                    ? "No known allergens"
+                    : "⚠ Contains: " + allergens.stream()
+                            .map(AllergenType::getDisplayName)
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+            assertThat(AllergenSets.displayNames(mask)).isSorted().hasSize(allergens.size());
+            assertThat(AllergenSets.allergens(mask)).isEqualTo(allergens);
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated lookups return the shared instance")
+    void shouldReuseComputedEntries() {
+        int mask = AllergenSets.keyOf(EnumSet.of(AllergenType.PEANUTS, AllergenType.MILK));
+
+        assertThat(AllergenSets.warning(mask)).isEqualTo("⚠ Contains: Milk, Peanuts").isSameAs(AllergenSets.warning(mask));
+        assertThat(AllergenSets.displayNames(mask)).containsExactly("Milk", "Peanuts")
+                .isSameAs(AllergenSets.displayNames(mask));
+        assertThat(AllergenSets.allergens(mask)).containsExactlyInAnyOrder(AllergenType.MILK, AllergenType.PEANUTS)
+                .isSameAs(AllergenSets.allergens(mask));
+        assertThatThrownBy(() -> AllergenSets.allergens(mask).add(AllergenType.EGGS))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(AllergenSets.keyOf(null)).isZero();
+    }
+}
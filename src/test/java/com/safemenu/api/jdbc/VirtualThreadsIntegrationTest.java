@@ -0,0 +1,45 @@
+package com.safemenu.api.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+class VirtualThreadsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Virtual-thread mode caps connection checkouts at the pool size and watches for pinning")
+    void shouldLimitConnectionsToPoolSize() throws Exception {
+        ConcurrencyLimitingDataSource limiter = dataSource.unwrap(ConcurrencyLimitingDataSource.class);
+        assertThat(limiter.getMaxConcurrency())
+                .isEqualTo(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+
+        mockMvc.perform(get("/api/v1/dishes/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/restaurants/1")).andExpect(status().isOk());
+
+        assertThat(limiter.getAvailablePermits()).isEqualTo(limiter.getMaxConcurrency());
+        assertThat(meterRegistry.find("safemenu.db.limiter.waiting").gauge()).isNotNull();
+        assertThat(meterRegistry.find("safemenu.jvm.threads.pinned").counter()).isNotNull();
+    }
+}
@@ -0,0 +1,65 @@
+package com.safemenu.api.mapper;
+
+import com.safemenu.api.dto.projection.DishIngredientRow;
+import com.safemenu.api.dto.response.IngredientResponse;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.event.IngredientChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientResponseRegistryTest {
+
+    private static final Long BUTTER = 10L;
+    private static final Long CREAM = 11L;
+    private static final Long FLOUR = 12L;
+    private static final int MILK = AllergenType.MILK.bit();
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final LocalDateTime EDITED = CREATED.plusMinutes(5);
+
+    private final IngredientResponseRegistry registry = new IngredientResponseRegistry();
+    private final EntityMapper mapper = new EntityMapper(registry);
+
+    @Test
+    void shouldShareOneResponseAcrossDishesForTheSameVersion() {
+        IngredientResponse inFirstDish = mapper.toIngredientResponse(row(1L, BUTTER, "Butter", MILK, CREATED));
+        IngredientResponse inSecondDish = mapper.toIngredientResponse(row(2L, BUTTER, "Butter", MILK, CREATED));
+
+        assertThat(inSecondDish).isSameAs(inFirstDish);
+        IngredientResponse cream = mapper.toIngredientResponse(row(3L, CREAM, "Cream", MILK, null));
+        assertThat(cream.getAllergens()).isSameAs(inFirstDish.getAllergens());
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReplaceOnNewerVersionAndNeverGoBack() {
+        IngredientResponse original = mapper.toIngredientResponse(row(1L, BUTTER, "Butter", MILK, CREATED));
+
+        IngredientResponse edited = mapper.toIngredientResponse(row(1L, BUTTER, "Salted butter", 0, EDITED));
+        IngredientResponse staleRead = mapper.toIngredientResponse(row(2L, BUTTER, "Butter", MILK, CREATED));
+
+        assertThat(edited).isNotSameAs(original);
+        assertThat(edited.getName()).isEqualTo("Salted butter");
+        assertThat(edited.getAllergens()).isEmpty();
+        assertThat(staleRead).isSameAs(edited);
+    }
+
+    @Test
+    void shouldDropEntriesOfChangedIngredients() {
+        IngredientResponse butter = mapper.toIngredientResponse(row(1L, BUTTER, "Butter", 0, CREATED));
+        IngredientResponse flour = mapper.toIngredientResponse(row(1L, FLOUR, "Wheat flour", 0, CREATED));
+
+        registry.onIngredientsChanged(IngredientChangedEvent.of(FLOUR));
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(mapper.toIngredientResponse(row(2L, BUTTER, "Butter", 0, CREATED))).isSameAs(butter);
+        assertThat(mapper.toIngredientResponse(row(2L, FLOUR, "Wheat flour", 0, CREATED))).isNotSameAs(flour);
+    }
+
+    private static DishIngredientRow row(Long dishId, Long ingredientId, String name, int allergenMask,
+                                         LocalDateTime updatedAt) {
+        return new DishIngredientRow(dishId, ingredientId, name, null, allergenMask, updatedAt);
+    }
+}
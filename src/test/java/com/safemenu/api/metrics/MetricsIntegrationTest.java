@@ -0,0 +1,79 @@
+package com.safemenu.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache meters are bound at startup for the caches declared under {@code safemenu.cache.caches},
+ * which the shared test configuration leaves empty — so this context declares the two menu caches.
+ */
+@SpringBootTest(properties = {
+        "safemenu.cache.caches.restaurantMenus.maximum-size=100",
+        "safemenu.cache.caches.safeDishes.maximum-weight=1000"
+})
+@AutoConfigureMockMvc
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Menu response cache lookups are timed separately for hits and misses")
+    void shouldTimeResponseCacheHitsAndMisses() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/dishes/safe")
+                            .param("restaurantId", "1")
+                            .param("exclude", "LUPIN,MOLLUSCS,CELERY"))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(responseTimer("miss").count()).isPositive();
+        assertThat(responseTimer("hit").count()).isPositive();
+        assertThat(meterRegistry.find("http.server.requests").tag("uri", "/api/v1/dishes/safe").timer())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("SQL statements are counted per request and route")
+    void shouldRecordStatementsPerRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/dishes/1")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(RequestMetricsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/api/v1/dishes/{id}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Caches, Hibernate and the connection pool are instrumented")
+    void shouldBindCacheHibernateAndPoolMetrics() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "safeDishes").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "restaurantMenus").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.size").tag("cache", "safeDishes").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.query.executions").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("hibernate.collections.fetches").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+
+    private Timer responseTimer(String cache) {
+        Timer timer = meterRegistry.find("safemenu.menu.responses").tags("kind", "safe", "cache", cache).timer();
+        assertThat(timer).as("safemenu.menu.responses cache=" + cache).isNotNull();
+        return timer;
+    }
+}
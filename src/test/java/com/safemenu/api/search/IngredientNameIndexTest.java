@@ -0,0 +1,63 @@
+package com.safemenu.api.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientNameIndexTest {
+
+    private final IngredientNameIndex index = IngredientNameIndex.build(List.of(
+            doc(1, "Peanut oil"),
+            doc(2, "Peanuts"),
+            doc(3, "Sesame oil"),
+            doc(4, "Toasted peanut butter"),
+            doc(5, "Boiled oilseed rape"),
+            doc(6, "Spoil-proof mix"),
+            doc(7, "Pea shoots")));
+
+    @Test
+    void shouldRankNamePrefixThenWordPrefixThenSubstring() {
+        // No name starts with "oil": words starting with it, then names merely containing it
+        assertThat(ids("oil", 10)).containsExactly(1L, 3L, 5L, 6L);
+        assertThat(ids("peanut", 10)).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void shouldStopAtLimit() {
+        assertThat(ids("pea", 2)).containsExactly(7L, 1L);
+    }
+
+    @Test
+    void shouldSkipSupersededEntries() {
+        assertThat(index.search("peanut", 10, id -> id == 1L))
+                .extracting(IngredientNameIndex.Hit::id)
+                .containsExactly(2L, 4L);
+    }
+
+    @Test
+    void shouldMatchShortQueriesByPrefixOnly() {
+        assertThat(ids("se", 10)).containsExactly(3L);
+        assertThat(ids("xyz", 10)).isEmpty();
+        assertThat(ids("", 10)).isEmpty();
+    }
+
+    @Test
+    void tierOfShouldClassifyOverlayNames() {
+        assertThat(IngredientNameIndex.tierOf("peanut oil", "pea")).isEqualTo(IngredientNameIndex.NAME_PREFIX);
+        assertThat(IngredientNameIndex.tierOf("sesame oil", "oil")).isEqualTo(IngredientNameIndex.WORD_PREFIX);
+        assertThat(IngredientNameIndex.tierOf("spoil-proof mix", "oil")).isEqualTo(IngredientNameIndex.SUBSTRING);
+        assertThat(IngredientNameIndex.tierOf("peanuts", "oil")).isEqualTo(-1);
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.search(IngredientSearch.normalize(query), limit, id -> false).stream()
+                .map(IngredientNameIndex.Hit::id)
+                .toList();
+    }
+
+    private static IngredientNameIndex.Doc doc(long id, String name) {
+        return new IngredientNameIndex.Doc(id, IngredientSearch.normalize(name));
+    }
+}
@@ -0,0 +1,154 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.request.CategoryRequest;
+import com.safemenu.api.dto.request.DishRequest;
+import com.safemenu.api.dto.request.RestaurantRequest;
+import com.safemenu.api.dto.response.BulkImportResponse;
+import com.safemenu.api.event.MenuChangedEvent;
+import com.safemenu.api.snapshot.MenuSnapshotRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the menu read paths and the bulk import against N+1 regressions by
+ * counting the JDBC statements each one prepares.
+ */
+@SpringBootTest
+class DishQueryCountIntegrationTest {
+
+    @Autowired
+    private DishService dishService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuCategoryService categoryService;
+
+    @Autowired
+    private DishImportService importService;
+
+    @Autowired
+    private MenuExportService exportService;
+
+    @Autowired
+    private MenuSnapshotRegistry snapshotRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Menu page — keyset dish rows and ingredient rows regardless of page size, no count")
+    void menuPageShouldUseConstantStatements() {
+        assertThat(dishService.findByRestaurant(1L, 0L, MenuCursor.START, 7, false).getContent()).hasSizeGreaterThan(5);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Menu export — one cursor plus one ingredient query per batch, no entities loaded")
+    void menuExportShouldStreamRows() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(List.of(1L), out)).isEqualTo(7);
+
+        assertThat(out.toString().lines()).hasSize(7);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Category listing — dish rows and ingredient rows")
+    void categoryListingShouldUseConstantStatements() {
+        assertThat(dishService.findByCategory(2L, MenuCursor.START, 20, false).getContent()).hasSizeGreaterThan(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Restaurant page — rows, count and one grouped query per aggregate")
+    void restaurantPageShouldUseConstantStatements() {
+        assertThat(restaurantService.findAll(null, PageRequest.of(0, 20)).getContent()).isNotEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Restaurant categories — rows and one grouped dish count")
+    void restaurantCategoriesShouldUseConstantStatements() {
+        assertThat(categoryService.findByRestaurant(1L)).hasSizeGreaterThanOrEqualTo(3);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Snapshot rebuild behind safe / vegetarian / vegan — menu version and whole menu in constant statements")
+    void snapshotRebuildShouldUseConstantStatements() {
+        snapshotRegistry.get(1L);
+        statistics.clear();
+
+        snapshotRegistry.onMenuChanged(MenuChangedEvent.of(1L));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Bulk import — set lookups and JDBC-batched inserts, invalid rows reported")
+    void bulkImportShouldBatchInserts() {
+        Long restaurantId = restaurantService.create(RestaurantRequest.builder()
+                .name("Import Kitchen").address("3 Batch Road, Galway").build()).getId();
+        Long categoryId = categoryService.create(CategoryRequest.builder()
+                .name("Imported").displayOrder(1).restaurantId(restaurantId).build()).getId();
+
+        List<DishRequest> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(DishRequest.builder()
+                    .name("Imported dish " + i).price(new BigDecimal("9.50"))
+                    .categoryId(categoryId).ingredientIds(Set.of(1L, 2L)).build());
+        }
+        rows.add(DishRequest.builder().name("").price(new BigDecimal("1.00")).categoryId(categoryId).build());
+        rows.add(DishRequest.builder().name("Lost").price(new BigDecimal("1.00")).categoryId(999_999L).build());
+        statistics.clear();
+
+        BulkImportResponse report = importService.importDishes(rows);
+
+        assertThat(report.getImported()).isEqualTo(120);
+        assertThat(report.getErrors()).extracting(BulkImportResponse.RowError::getIndex).containsExactly(120, 121);
+        assertThat(dishService.findByCategory(categoryId, MenuCursor.START, 1, true).getTotalElements()).isEqualTo(120);
+        // 120 dishes + 240 join rows one by one would be 360+ statements
+        assertThat(statistics.getEntityInsertCount()).isGreaterThanOrEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40);
+    }
+}
@@ -0,0 +1,153 @@
+package com.safemenu.api.service;
+
+import com.safemenu.api.dto.response.DishResponse;
+import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.mapper.EntityMapper;
+import com.safemenu.api.repository.DishReadRepository;
+import com.safemenu.api.repository.DishRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after benchmark of the menu read path: managed entities + {@link EntityMapper}
+ * versus the projection-based {@link DishReadModel}, on a large seeded restaurant.
+ *
+ * Opt-in: {@code ./mvnw test -Dtest=DishReadModelBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DishReadModelBenchmarkTest {
+
+    private static final long RESTAURANT_ID = 1_000L;
+    private static final int CATEGORIES = 50;
+    private static final int INGREDIENTS = 1_000;
+    private static final int DISHES = 5_000;
+    private static final int INGREDIENTS_PER_DISH = 8;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private EntityMapper mapper;
+
+    @Autowired
+    private DishReadModel readModel;
+
+    @Autowired
+    private DishReadRepository readRepository;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        jdbcTemplate.update("INSERT INTO restaurants (id, name, address) VALUES (?, 'Benchmark Chain', 'Nowhere')",
+                RESTAURANT_ID);
+        batchInsert("INSERT INTO menu_categories (id, name, display_order, restaurant_id) VALUES (?, ?, ?, ?)",
+                CATEGORIES, i -> new Object[]{RESTAURANT_ID + i, "Category " + i, i, RESTAURANT_ID});
+
+        int[] ingredientMasks = new int[INGREDIENTS];
+        List<Object[]> allergenRows = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) {
+            for (AllergenType allergen : AllergenType.values()) {
+                if (random.nextInt(10) == 0) {
+                    ingredientMasks[i] |= allergen.bit();
+                    allergenRows.add(new Object[]{RESTAURANT_ID + i, allergen.name()});
+                }
+            }
+        }
+        batchInsert("INSERT INTO ingredients (id, name, allergen_mask) VALUES (?, ?, ?)",
+                INGREDIENTS, i -> new Object[]{RESTAURANT_ID + i, "Benchmark ingredient " + i, ingredientMasks[i]});
+        jdbcTemplate.batchUpdate("INSERT INTO ingredient_allergens (ingredient_id, allergen) VALUES (?, ?)", allergenRows);
+
+        List<Object[]> dishIngredientRows = new ArrayList<>();
+        int[] dishMasks = new int[DISHES];
+        for (int d = 0; d < DISHES; d++) {
+            for (int k = 0; k < INGREDIENTS_PER_DISH; k++) {
+                int ingredient = (d * INGREDIENTS_PER_DISH + k * 37) % INGREDIENTS;
+                dishMasks[d] |= ingredientMasks[ingredient];
+                dishIngredientRows.add(new Object[]{RESTAURANT_ID + d, RESTAURANT_ID + ingredient});
+            }
+        }
+        batchInsert("INSERT INTO dishes (id, name, price, category_id, allergen_mask) VALUES (?, ?, 9.50, ?, ?)",
+                DISHES, d -> new Object[]{RESTAURANT_ID + d, "Dish " + d, RESTAURANT_ID + d % CATEGORIES, dishMasks[d]});
+        jdbcTemplate.batchUpdate("INSERT INTO dish_ingredients (dish_id, ingredient_id) VALUES (?, ?)", dishIngredientRows);
+    }
+
+    @Test
+    void compareEntityHydrationWithReadModel() {
+        Result entities = measure("entities + EntityMapper", page -> transactionTemplate.execute(status ->
+                dishRepository.findByCategoryRestaurantId(RESTAURANT_ID, PageRequest.of(page, PAGE_SIZE))
+                        .map(mapper::toDishResponse).getContent()));
+        // Offset pages for the projection read model too, so only the hydration strategy differs
+        Result projections = measure("projection read model", page -> transactionTemplate.execute(status ->
+                readModel.assemble(readRepository.findRowsByRestaurantIdAfter(
+                        RESTAURANT_ID, Integer.MIN_VALUE, 0, PageRequest.of(page, PAGE_SIZE)))));
+
+        System.out.println(entities);
+        System.out.println(projections);
+        assertThat(projections.dishes()).isEqualTo(entities.dishes());
+    }
+
+    private Result measure(String label, IntFunction<List<DishResponse>> loadPage) {
+        int pages = DISHES / PAGE_SIZE;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int page = 0; page < pages; page++) {
+                loadPage.apply(page);
+            }
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        long dishes = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (int page = 0; page < pages; page++) {
+                dishes += loadPage.apply(page).size();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(label, dishes / MEASURED_ROUNDS, elapsedNanos / (MEASURED_ROUNDS * pages), allocated / dishes);
+    }
+
+    private void batchInsert(String sql, int rows, IntFunction<Object[]> row) {
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            args.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+
+    private record Result(String label, long dishes, long nanosPerPage, long bytesPerDish) {
+
+        @Override
+        public String toString() {
+            return String.format("%-26s %6.2f ms/page of %d   %,8d bytes allocated per dish",
+                    label, nanosPerPage / 1_000_000.0, PAGE_SIZE, bytesPerDish);
+        }
+    }
+}
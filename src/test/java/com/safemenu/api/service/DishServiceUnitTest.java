@@ -5,22 +5,30 @@ import com.safemenu.api.dto.response.DishResponse;
 import com.safemenu.api.entity.Dish;
 import com.safemenu.api.entity.Ingredient;
 import com.safemenu.api.entity.MenuCategory;
+import com.safemenu.api.entity.Restaurant;
 import com.safemenu.api.enums.AllergenType;
+import com.safemenu.api.enums.MenuEntityType;
+import com.safemenu.api.event.MenuChange;
+import com.safemenu.api.event.MenuChangedEvent;
 import com.safemenu.api.mapper.EntityMapper;
 import com.safemenu.api.repository.DishRepository;
+import com.safemenu.api.snapshot.MenuSnapshotRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +39,9 @@ class DishServiceUnitTest {
     @Mock
     private DishRepository dishRepository;
 
+    @Mock
+    private DishReadModel readModel;
+
     @Mock
     private MenuCategoryService categoryService;
 
@@ -40,6 +51,12 @@ class DishServiceUnitTest {
     @Mock
     private EntityMapper mapper;
 
+    @Mock
+    private MenuSnapshotRegistry snapshotRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DishService dishService;
 
@@ -48,12 +65,14 @@ class DishServiceUnitTest {
         Long dishId = 1L;
         Long newCategoryId = 7L;
 
+        Restaurant restaurant = Restaurant.builder().id(1L).name("The Green Kitchen").build();
         Dish existingDish = Dish.builder()
                 .id(dishId)
                 .name("Old Dish")
+                .category(MenuCategory.builder().id(1L).name("Starters").restaurant(restaurant).build())
                 .build();
 
-        MenuCategory newCategory = MenuCategory.builder().id(newCategoryId).name("Mains").build();
+        MenuCategory newCategory = MenuCategory.builder().id(newCategoryId).name("Mains").restaurant(restaurant).build();
         Set<Ingredient> ingredients = Set.of(Ingredient.builder().id(1L).name("Butter").build());
 
         DishRequest request = DishRequest.builder()
@@ -80,6 +99,41 @@ class DishServiceUnitTest {
         Dish savedDish = captor.getValue();
         assertThat(savedDish.getCategory()).isEqualTo(newCategory);
         assertThat(savedDish.getName()).isEqualTo("Updated Dish");
+        verify(eventPublisher).publishEvent(MenuChangedEvent.of(List.of(
+                MenuChange.upsert(1L, MenuEntityType.DISH, dishId),
+                MenuChange.upsert(1L, MenuEntityType.CATEGORY, 1L),
+                MenuChange.upsert(1L, MenuEntityType.CATEGORY, newCategoryId))));
+    }
+
+    @Test
+    void updateShouldRecomputeAllergenMaskFromIngredients() {
+        Long dishId = 2L;
+        Restaurant restaurant = Restaurant.builder().id(1L).name("The Green Kitchen").build();
+        MenuCategory category = MenuCategory.builder().id(3L).name("Desserts").restaurant(restaurant).build();
+        Dish existingDish = Dish.builder().id(dishId).name("Old Dish").category(category).build();
+        Set<Ingredient> ingredients = Set.of(
+                Ingredient.builder().id(2L).name("Butter").allergenMask(AllergenType.MILK.bit()).build(),
+                Ingredient.builder().id(3L).name("Eggs").allergenMask(AllergenType.EGGS.bit()).build());
+
+        DishRequest request = DishRequest.builder()
+                .name("Custard")
+                .price(new BigDecimal("6.00"))
+                .categoryId(3L)
+                .ingredientIds(Set.of(2L, 3L))
+                .build();
+
+        when(dishRepository.findById(dishId)).thenReturn(Optional.of(existingDish));
+        when(categoryService.getEntityById(3L)).thenReturn(category);
+        when(ingredientService.getEntitiesByIds(request.getIngredientIds())).thenReturn(ingredients);
+        when(dishRepository.save(any(Dish.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDishResponse(any(Dish.class))).thenReturn(new DishResponse());
+
+        dishService.update(dishId, request);
+
+        assertThat(existingDish.getAllergenMask())
+                .isEqualTo(AllergenType.MILK.bit() | AllergenType.EGGS.bit());
+        assertThat(existingDish.getComputedAllergens())
+                .containsExactlyInAnyOrder(AllergenType.MILK, AllergenType.EGGS);
     }
 
     @Test
@@ -92,10 +146,36 @@ class DishServiceUnitTest {
         secondOrder.add(AllergenType.PEANUTS);
         secondOrder.add(AllergenType.MILK);
 
-        String key1 = DishService.buildSafeDishCacheKey(5L, firstOrder);
-        String key2 = DishService.buildSafeDishCacheKey(5L, secondOrder);
+        MenuCacheKey key1 = DishService.buildSafeDishCacheKey(5L, 12L, firstOrder, MenuCursor.START, 20, false);
+        MenuCacheKey key2 = DishService.buildSafeDishCacheKey(5L, 12L, secondOrder, MenuCursor.START, 20, false);
+
+        assertThat(key1.restaurantId()).isEqualTo(5L);
+        assertThat(key1.excludedMask()).isEqualTo(AllergenType.MILK.bit() | AllergenType.PEANUTS.bit());
+        assertThat(key2).isEqualTo(key1).hasSameHashCodeAs(key1);
+        assertThat(DishService.buildSafeDishCacheKey(5L, 13L, firstOrder, MenuCursor.START, 20, false)).isNotEqualTo(key1);
+        assertThat(DishService.buildSafeDishCacheKey(5L, 12L, firstOrder, MenuCursor.START, 20, true)).isNotEqualTo(key1);
+        assertThat(DishService.buildMenuPageCacheKey(5L, 12L, MenuCursor.START, 20, false)).isNotEqualTo(key1);
+    }
+
+    @Test
+    void buildMenuPageCacheKeyShouldCoverVersionCursorSizeAndTotal() {
+        MenuCacheKey firstPage = DishService.buildMenuPageCacheKey(5L, 12L, MenuCursor.START, 20, false);
+        MenuCacheKey biggerPage = DishService.buildMenuPageCacheKey(5L, 12L, MenuCursor.START, 50, false);
+        MenuCacheKey laterPage = DishService.buildMenuPageCacheKey(5L, 12L, new MenuCursor(2, 40L), 20, false);
+        MenuCacheKey countedPage = DishService.buildMenuPageCacheKey(5L, 12L, MenuCursor.START, 20, true);
+        MenuCacheKey newerMenu = DishService.buildMenuPageCacheKey(5L, 13L, MenuCursor.START, 20, false);
+
+        assertThat(firstPage.restaurantId()).isEqualTo(5L);
+        assertThat(List.of(biggerPage, laterPage, countedPage, newerMenu)).doesNotContain(firstPage).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void menuCursorShouldRoundTripAndRejectGarbage() {
+        MenuCursor cursor = new MenuCursor(3, 1234L);
 
-        assertThat(key1).isEqualTo("5-MILK,PEANUTS");
-        assertThat(key2).isEqualTo(key1);
+        assertThat(MenuCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(MenuCursor.decode(null)).isEqualTo(MenuCursor.START);
+        assertThatThrownBy(() -> MenuCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 }
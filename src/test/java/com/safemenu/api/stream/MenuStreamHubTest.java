@@ -0,0 +1,68 @@
+package com.safemenu.api.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safemenu.api.config.MenuStreamProperties;
+import com.safemenu.api.dto.response.MenuChangesResponse;
+import com.safemenu.api.repository.RestaurantRepository;
+import com.safemenu.api.service.MenuChangeLogService;
+import com.safemenu.api.snapshot.MenuVersionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuStreamHubTest {
+
+    @Mock
+    private MenuChangeLogService changeLog;
+
+    @Mock
+    private MenuVersionRegistry menuVersions;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private MenuStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        MenuStreamProperties properties = new MenuStreamProperties();
+        properties.setCoalesceWindow(Duration.ofMillis(10));
+        hub = new MenuStreamHub(changeLog, menuVersions, restaurantRepository, new ObjectMapper(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void shouldRetryDispatchAfterChangeLogFailure() {
+        when(restaurantRepository.existsById(1L)).thenReturn(true);
+        when(menuVersions.current(1L)).thenReturn(2L);
+        when(changeLog.findChanges(1L, 1L))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(MenuChangesResponse.builder()
+                        .restaurantId(1L).since(1L).version(2L)
+                        .dishes(List.of()).categories(List.of())
+                        .deletedDishIds(List.of()).deletedCategoryIds(List.of())
+                        .build());
+
+        hub.subscribe(1L, 1L);
+
+        // The failed round must release the subscriber and run again
+        verify(changeLog, timeout(2000).times(2)).findChanges(1L, 1L);
+    }
+}